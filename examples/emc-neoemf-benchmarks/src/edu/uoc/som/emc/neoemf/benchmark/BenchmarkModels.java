@@ -0,0 +1,84 @@
+package edu.uoc.som.emc.neoemf.benchmark;
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.gmt.modisco.java.JavaPackage;
+
+import fr.inria.atlanmod.neoemf.data.PersistenceBackendFactoryRegistry;
+import fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsPersistenceBackendFactory;
+import fr.inria.atlanmod.neoemf.data.blueprints.neo4j.option.BlueprintsNeo4jOptionsBuilder;
+import fr.inria.atlanmod.neoemf.data.blueprints.util.BlueprintsURI;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+import fr.inria.atlanmod.neoemf.resource.PersistentResourceFactory;
+
+/**
+ * Creates the NeoEMF resources used by the benchmarks.
+ * <p>
+ * The benchmarked resources are synthetic scale-ups of the MoDisco model bundled
+ * with the examples: a resource of scale {@code n} contains {@code n} copies of
+ * the content of the XMI file.
+ */
+public class BenchmarkModels {
+
+	/**
+	 * The path of the XMI file to scale up.
+	 */
+	private static final String XMI_MODEL_PATH = "../emc-neoemf/models/sample.xmi";
+
+	/**
+	 * The folder containing the created NeoEMF resources.
+	 */
+	private static final String NEOEMF_MODELS_PATH = "models";
+
+	/**
+	 * Returns the NeoEMF resource of the provided {@code scale}, creating it if it
+	 * does not exist.
+	 *
+	 * @param scale the number of copies of the XMI file to store in the resource
+	 * @return the {@link File} of the NeoEMF resource
+	 * @throws IOException if an error occurred when loading the XMI file or
+	 *                     creating the NeoEMF resource
+	 */
+	public static File getOrCreateModel(int scale) throws IOException {
+		File neoemfFile = new File(NEOEMF_MODELS_PATH, MessageFormat.format("sample-x{0}.graphdb", scale));
+		if (neoemfFile.exists()) {
+			return neoemfFile;
+		}
+		ResourceSet rSet = new ResourceSetImpl();
+		rSet.getPackageRegistry().put(JavaPackage.eNS_URI, JavaPackage.eINSTANCE);
+		rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		Resource xmiResource = rSet.getResource(URI.createURI(XMI_MODEL_PATH), true);
+
+		PersistenceBackendFactoryRegistry.register(BlueprintsURI.SCHEME,
+				BlueprintsPersistenceBackendFactory.getInstance());
+		rSet.getResourceFactoryRegistry().getProtocolToFactoryMap().put(BlueprintsURI.SCHEME,
+				PersistentResourceFactory.getInstance());
+		Resource neoemfResource = rSet.createResource(BlueprintsURI.createFileURI(neoemfFile));
+		Map<String, Object> options = BlueprintsNeo4jOptionsBuilder.newBuilder().autocommit().asMap();
+		neoemfResource.save(options);
+		for (int i = 0; i < scale; i++) {
+			/*
+			 * Each copy preserves the references between its elements, and is
+			 * independent from the other ones.
+			 */
+			Collection<EObject> copy = EcoreUtil.copyAll(xmiResource.getContents());
+			neoemfResource.getContents().addAll(copy);
+		}
+		neoemfResource.save(options);
+		((PersistentResource) neoemfResource).close();
+		System.out.println(MessageFormat.format("Created {0} ({1} copies of {2})", neoemfFile, scale,
+				XMI_MODEL_PATH));
+		return neoemfFile;
+	}
+
+}
@@ -0,0 +1,133 @@
+package edu.uoc.som.emc.neoemf.benchmark;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.epsilon.common.util.StringProperties;
+import org.eclipse.epsilon.emc.neoemf.NeoEMFModel;
+import org.eclipse.epsilon.eol.EolModule;
+import org.eclipse.epsilon.eol.models.IRelativePathResolver;
+import org.eclipse.gmt.modisco.java.JavaPackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution time of the example EOL queries on a NeoEMF resource.
+ * <p>
+ * Each benchmark is parameterized by the size of the queried resource (see
+ * {@link BenchmarkModels}), the executed query, whether native Gremlin is
+ * enabled, and the Neo4j cache type. The parameters can be overridden from the
+ * command line (e.g. {@code -p scale=1,100 -p nativeGremlin=true}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+	/**
+	 * The folder containing the benchmarked queries.
+	 */
+	private static final String QUERY_PATH = "../emc-neoemf/query";
+
+	/**
+	 * The number of copies of the XMI file stored in the queried resource.
+	 */
+	@Param({ "1", "10" })
+	public int scale;
+
+	/**
+	 * The name of the benchmarked query file.
+	 */
+	@Param({ "allClass.eol", "allClass-name.eol", "allClass-select-name.eol", "allClass-superclass.eol",
+			"allClass-superclass-closure.eol", "variable-compilationUnit.eol", "variable-compilationUnit-chain.eol" })
+	public String query;
+
+	@Param({ "true", "false" })
+	public boolean nativeGremlin;
+
+	@Param({ "NONE", "WEAK", "SOFT", "STRONG" })
+	public String cacheType;
+
+	private NeoEMFModel model;
+
+	private EolModule module;
+
+	/**
+	 * Loads the queried resource and parses the benchmarked query.
+	 *
+	 * @throws Exception if an error occurred when creating or loading the
+	 *                   resource, or when parsing the query
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		// register the NeoEMF EPackage in the global registry used by the driver
+		JavaPackage.eINSTANCE.getName();
+		File neoemfFile = BenchmarkModels.getOrCreateModel(scale);
+
+		StringProperties properties = new StringProperties();
+		properties.put(NeoEMFModel.PROPERTY_NAME, "Java");
+		properties.put(NeoEMFModel.PROPERTY_READONLOAD, "true");
+		properties.put(NeoEMFModel.PROPERTY_NEOEMF_PATH, neoemfFile.getAbsolutePath());
+		properties.put(NeoEMFModel.PROPERTY_NEOEMF_RESOURCE_TYPE, "Graph");
+		properties.put(NeoEMFModel.PROPERTY_NEO4J_CACHE_TYPE, cacheType);
+		if (nativeGremlin) {
+			properties.put(NeoEMFModel.PROPERTY_GREMLIN, "1");
+		}
+		model = new NeoEMFModel();
+		model.load(properties, new IRelativePathResolver() {
+			@Override
+			public String resolve(String relativePath) {
+				return relativePath;
+			}
+		});
+
+		module = new EolModule();
+		if (!module.parse(new File(QUERY_PATH, query))) {
+			throw new IllegalArgumentException(
+					MessageFormat.format("Cannot parse {0}: {1}", query, module.getParseProblems()));
+		}
+		module.getContext().getModelRepository().addModel(model);
+		// the queries print their results, discard them to only measure their computation
+		module.getContext().setOutputStream(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		}));
+	}
+
+	/**
+	 * Executes the benchmarked query.
+	 *
+	 * @return the result of the query
+	 * @throws Exception if an error occurred when executing the query
+	 */
+	@Benchmark
+	public Object executeQuery() throws Exception {
+		return module.execute();
+	}
+
+	/**
+	 * Closes the queried resource.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		module.getContext().getModelRepository().dispose();
+	}
+
+}
@@ -0,0 +1,48 @@
+package edu.uoc.som.emc.neoemf.benchmark;
+import java.io.File;
+import java.text.MessageFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and stores their results in a JSON file.
+ * <p>
+ * The results are stored in {@code results/benchmark-<date>.json}, allowing to
+ * compare the performances of different releases of the driver. The provided
+ * arguments are regular JMH command line options, and can be used to select the
+ * benchmarks to run or override their parameters.
+ */
+public class RunBenchmarks {
+
+	/**
+	 * The folder containing the benchmark results.
+	 */
+	private static final String RESULTS_PATH = "results";
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args JMH command line options
+	 * @throws Exception if an error occurred when running the benchmarks
+	 */
+	public static void main(String[] args) throws Exception {
+		String resultFile = MessageFormat.format("{0}/benchmark-{1}.json", RESULTS_PATH,
+				new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+		new File(RESULTS_PATH).mkdirs();
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.include(QueryBenchmark.class.getSimpleName())
+				.resultFormat(ResultFormatType.JSON)
+				.result(resultFile)
+				.build();
+		new Runner(options).run();
+		System.out.println(MessageFormat.format("Benchmark results stored in {0}", resultFile));
+	}
+
+}
@@ -28,9 +28,18 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 			BlueprintsNeo4jResourceOptions.CacheType.STRONG.toString()
 			};
 	
+	private String[] mapStoreTypeList = {
+			NeoEMFModel.MAPDB_STORE_DIRECT_WRITE,
+			NeoEMFModel.MAPDB_STORE_DIRECT_WRITE_LISTS,
+			NeoEMFModel.MAPDB_STORE_DIRECT_WRITE_INDICES
+			};
+	
 	private Text pathText;
 //	private Text metamodelURIText;
 	private Button gremlinCheck;
+	private Button explainCheck;
+	private Text instancesCacheSizeText;
+	private Text spillThresholdText;
 	private Button autocommitCheck;
 	private Text autocommitChunkText;
 	private Button cacheSizeCheck;
@@ -42,10 +51,13 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 	private Button mapRadio;
 	
 	private Combo cacheTypeCombo;
+	private Text keyIndexesText;
+	private Combo mapStoreTypeCombo;
 	
 	private Composite parent;
 	private Composite storeOptionContent;
 	private Composite graphOptionContent;
+	private Composite mapOptionContent;
 	
 	@Override
 	protected String getModelName() {
@@ -64,9 +76,8 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		createAccessGroup(parent);
 		createStoreOptionGroup(parent);
 		createGraphOptionGroup(parent);
+		createMapOptionGroup(parent);
 		createLoadStoreOptionsGroup(parent);
-		// TODO integrate MapDB options
-//		createMapOptionGroup(parent);
 	}
 	
 	protected void createAccessGroup(Composite parent) {
@@ -96,6 +107,29 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		gremlinCheckGrid.horizontalSpan = 2;
 		gremlinCheck.setLayoutData(gremlinCheckGrid);
 		
+		final Label explain = new Label(groupContent, SWT.NONE);
+		explain.setText("Explain Gremlin queries");
+		explainCheck = new Button(groupContent, SWT.CHECK);
+		GridData explainCheckGrid = new GridData(GridData.HORIZONTAL_ALIGN_END);
+		explainCheckGrid.horizontalSpan = 2;
+		explainCheck.setLayoutData(explainCheckGrid);
+		
+		final Label instancesCacheSize = new Label(groupContent, SWT.NONE);
+		instancesCacheSize.setText("Cached instances");
+		instancesCacheSizeText = new Text(groupContent, SWT.BORDER);
+		instancesCacheSizeText.setText(String.valueOf(NeoEMFModel.DEFAULT_INSTANCES_CACHE_SIZE));
+		GridData instancesCacheSizeGrid = new GridData(GridData.FILL_HORIZONTAL);
+		instancesCacheSizeGrid.horizontalSpan = 2;
+		instancesCacheSizeText.setLayoutData(instancesCacheSizeGrid);
+		
+		final Label spillThreshold = new Label(groupContent, SWT.NONE);
+		spillThreshold.setText("Spill threshold");
+		spillThresholdText = new Text(groupContent, SWT.BORDER);
+		spillThresholdText.setText(String.valueOf(NeoEMFModel.DEFAULT_SPILL_THRESHOLD));
+		GridData spillThresholdGrid = new GridData(GridData.FILL_HORIZONTAL);
+		spillThresholdGrid.horizontalSpan = 2;
+		spillThresholdText.setLayoutData(spillThresholdGrid);
+		
 		final Label backendType = new Label(groupContent, SWT.NONE);
 		backendType.setText("Backend");
 		graphRadio = new Button(groupContent, SWT.RADIO);
@@ -104,7 +138,6 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		graphRadio.addSelectionListener(backendListener);
 		mapRadio = new Button(groupContent, SWT.RADIO);
 		mapRadio.setText("Map");
-		mapRadio.setEnabled(false); // TODO support MapDB resources
 		mapRadio.addSelectionListener(backendListener);
 		
 	}
@@ -151,6 +184,28 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		cacheTypeCombo.setItems(cacheTypeList);
 		cacheTypeCombo.select(2);
 		cacheTypeCombo.setLayoutData(new GridData(SWT.FILL, SWT.TOP, true, false));
+		
+		final Label keyIndexesLabel = new Label(graphOptionContent, SWT.NONE);
+		keyIndexesLabel.setText("Key indexes");
+		
+		keyIndexesText = new Text(graphOptionContent, SWT.BORDER);
+		keyIndexesText.setToolTipText("Comma-separated list of EClass.attribute pairs to index, e.g. ClassDeclaration.name");
+		keyIndexesText.setLayoutData(new GridData(SWT.FILL, SWT.TOP, true, false));
+	}
+	
+	protected void createMapOptionGroup(Composite parent) {
+		mapOptionContent = createGroupContainer(parent, "MapDB Options", 2);
+		
+		final Label storeTypeLabel = new Label(mapOptionContent, SWT.NONE);
+		storeTypeLabel.setText("Store");
+		
+		mapStoreTypeCombo = new Combo(mapOptionContent, SWT.BORDER | SWT.READ_ONLY);
+		mapStoreTypeCombo.setItems(mapStoreTypeList);
+		mapStoreTypeCombo.select(0);
+		mapStoreTypeCombo.setLayoutData(new GridData(SWT.FILL, SWT.TOP, true, false));
+		
+		// the default backend is Graph
+		setVisible(mapOptionContent, false);
 	}
 	
 	@Override
@@ -161,6 +216,13 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		pathText.setText(properties.getProperty(NeoEMFModel.PROPERTY_NEOEMF_PATH));
 //		metamodelURIText.setText(properties.getProperty(NeoEMFModel.PROPERTY_METAMODEL_URI));
 		gremlinCheck.setSelection(properties.hasProperty(NeoEMFModel.PROPERTY_GREMLIN));
+		explainCheck.setSelection(properties.hasProperty(NeoEMFModel.PROPERTY_EXPLAIN));
+		if(properties.hasProperty(NeoEMFModel.PROPERTY_INSTANCES_CACHE_SIZE)) {
+			instancesCacheSizeText.setText(properties.getProperty(NeoEMFModel.PROPERTY_INSTANCES_CACHE_SIZE));
+		}
+		if(properties.hasProperty(NeoEMFModel.PROPERTY_SPILL_THRESHOLD)) {
+			spillThresholdText.setText(properties.getProperty(NeoEMFModel.PROPERTY_SPILL_THRESHOLD));
+		}
 		if(properties.hasProperty(NeoEMFModel.PROPERTY_NEOEMF_RESOURCE_TYPE)) {
 			String resourceType = properties.getProperty(NeoEMFModel.PROPERTY_NEOEMF_RESOURCE_TYPE);
 			if(resourceType.equals("Map")) {
@@ -188,6 +250,14 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		if(properties.hasProperty(NeoEMFModel.PROPERTY_NEO4J_CACHE_TYPE)) {
 			cacheTypeCombo.select(Arrays.asList(cacheTypeList).indexOf(properties.getProperty(NeoEMFModel.PROPERTY_NEO4J_CACHE_TYPE)));
 		}
+		if(properties.hasProperty(NeoEMFModel.PROPERTY_KEY_INDEXES)) {
+			keyIndexesText.setText(properties.getProperty(NeoEMFModel.PROPERTY_KEY_INDEXES));
+		}
+		if(properties.hasProperty(NeoEMFModel.PROPERTY_MAPDB_STORE_TYPE)) {
+			mapStoreTypeCombo.select(Arrays.asList(mapStoreTypeList).indexOf(properties.getProperty(NeoEMFModel.PROPERTY_MAPDB_STORE_TYPE)));
+		}
+		setVisible(graphOptionContent, graphRadio.getSelection());
+		setVisible(mapOptionContent, mapRadio.getSelection());
 	}
 	
 	@Override
@@ -199,6 +269,11 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		if(gremlinCheck.getSelection()) {
 			properties.put(NeoEMFModel.PROPERTY_GREMLIN, "1");
 		}
+		if(explainCheck.getSelection()) {
+			properties.put(NeoEMFModel.PROPERTY_EXPLAIN, "1");
+		}
+		properties.put(NeoEMFModel.PROPERTY_INSTANCES_CACHE_SIZE, instancesCacheSizeText.getText());
+		properties.put(NeoEMFModel.PROPERTY_SPILL_THRESHOLD, spillThresholdText.getText());
 		if(mapRadio.getSelection()) {
 			properties.put(NeoEMFModel.PROPERTY_NEOEMF_RESOURCE_TYPE, "Map");
 		}
@@ -225,6 +300,11 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		if(graphRadio.getSelection()) {
 			// Store Graph options only if the accessed model is mapped to a graph
 			properties.put(NeoEMFModel.PROPERTY_NEO4J_CACHE_TYPE, cacheTypeCombo.getItem(cacheTypeCombo.getSelectionIndex()));
+			properties.put(NeoEMFModel.PROPERTY_KEY_INDEXES, keyIndexesText.getText());
+		}
+		if(mapRadio.getSelection()) {
+			// Store MapDB options only if the accessed model is mapped to a map
+			properties.put(NeoEMFModel.PROPERTY_MAPDB_STORE_TYPE, mapStoreTypeCombo.getItem(mapStoreTypeCombo.getSelectionIndex()));
 		}
 	}
 	
@@ -235,14 +315,12 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 			boolean isSelected = backendRadio.getSelection();
 			if(isSelected) {
 				if(backendRadio.getText().equals("Map")) {
-					graphOptionContent.getParent().setVisible(false);
-					((GridData)graphOptionContent.getParent().getLayoutData()).exclude = true;
-					parent.layout();
+					setVisible(graphOptionContent, false);
+					setVisible(mapOptionContent, true);
 				}
 				else if(backendRadio.getText().equals("Graph")) {
-					graphOptionContent.getParent().setVisible(true);
-					((GridData)graphOptionContent.getParent().getLayoutData()).exclude = false;
-					parent.layout();
+					setVisible(graphOptionContent, true);
+					setVisible(mapOptionContent, false);
 				}
 			}
 		}
@@ -251,6 +329,12 @@ public class NeoEMFModelConfigurationDialog extends AbstractModelConfigurationDi
 		public void widgetDefaultSelected(SelectionEvent e) {}
 	};
 	
+	private void setVisible(Composite optionContent, boolean visible) {
+		optionContent.getParent().setVisible(visible);
+		((GridData)optionContent.getParent().getLayoutData()).exclude = !visible;
+		parent.layout();
+	}
+	
 	private SelectionListener autocommitListener = new SelectionListener() {
 		
 		@Override
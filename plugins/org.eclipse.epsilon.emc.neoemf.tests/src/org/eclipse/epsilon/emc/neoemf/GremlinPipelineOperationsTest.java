@@ -0,0 +1,166 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.epsilon.eol.EolModule;
+import org.eclipse.epsilon.eol.execute.context.Variable;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+
+/**
+ * Tests the Gremlin implementations of the first-order operations computed on a
+ * {@link GremlinPipelineListWrapper}.
+ * <p>
+ * The pipelines traverse an in-memory {@link TinkerGraph}, and the operations are only checked on the translated
+ * queries, which do not reify the vertices.
+ */
+public class GremlinPipelineOperationsTest {
+
+	private EClass node;
+
+	private GremlinPipelineListWrapper nodes;
+
+	@Before
+	public void createNodes() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("graph");
+		ePackage.setNsURI("http://www.example.org/graph");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		EAttribute name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(name);
+		EReference next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(node);
+		node.getEStructuralFeatures().add(next);
+		ePackage.getEClassifiers().add(node);
+
+		TinkerGraph graph = new TinkerGraph();
+		List<Vertex> vertices = new ArrayList<>();
+		for (String nodeName : new String[] { "a", "b", "c" }) {
+			Vertex vertex = graph.addVertex(null);
+			vertex.setProperty("name", nodeName);
+			vertices.add(vertex);
+		}
+		// a -> b -> c
+		graph.addEdge(null, vertices.get(0), vertices.get(1), "next");
+		graph.addEdge(null, vertices.get(1), vertices.get(2), "next");
+		NeoEMFModel model = new NeoEMFModel();
+		model.setGremlinSupport(true);
+		nodes = GremlinPipelineListWrapper.pipelineOf(model, vertices, node);
+	}
+
+	@Test
+	public void selectDoesNotAlterTheSource() throws Exception {
+		Object result = execute("return nodes.select(n | n.name = 'a');");
+
+		assertTrue(result instanceof GremlinPipelineListWrapper);
+		assertNotSame(nodes, result);
+		assertEquals(1, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void rejectDoesNotAlterTheSource() throws Exception {
+		Object result = execute("return nodes.reject(n | n.name = 'a');");
+
+		assertTrue(result instanceof GremlinPipelineListWrapper);
+		assertNotSame(nodes, result);
+		assertEquals(2, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void consecutiveSelectsAreIndependent() throws Exception {
+		Object result = execute("nodes.select(n | n.name = 'a'); return nodes.select(n | n.name = 'b');");
+
+		assertEquals(1, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void collectDoesNotAlterTheSource() throws Exception {
+		Object result = execute("return nodes.collect(n | n.name);");
+
+		assertTrue(result instanceof GremlinPipelineListWrapper);
+		assertNotSame(nodes, result);
+		assertEquals(3, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(node, nodes.getPipelineEndEClassifier());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void undefinedReferencesAreCollectedAsNull() throws Exception {
+		// c does not have a next node, and b.next does not either
+		assertEquals(3, execute("return nodes.collect(n | n.next).size();"));
+		assertEquals(3, execute("return nodes.collect(n | n.next.next.name).size();"));
+	}
+
+	@Test
+	public void undefinedReferencesAreKeptByFlatten() throws Exception {
+		assertEquals(3, execute("return nodes.collect(n | n.next.next).flatten().size();"));
+		assertEquals(3, execute("return nodes.collect(n | n.next.name).flatten().size();"));
+	}
+
+	@Test
+	public void sortByDoesNotAlterTheSource() throws Exception {
+		Object result = execute("return nodes.sortBy(n | n.name);");
+
+		assertTrue(result instanceof GremlinPipelineListWrapper);
+		assertNotSame(nodes, result);
+		assertEquals(3, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void closureDoesNotAlterTheSource() throws Exception {
+		Object result = execute("return nodes.closure(n | n.next);");
+
+		assertTrue(result instanceof GremlinPipelineListWrapper);
+		assertNotSame(nodes, result);
+		assertEquals(2, ((GremlinPipelineListWrapper) result).size());
+		assertEquals(3, nodes.size());
+	}
+
+	@Test
+	public void asSetIsTypedAsASet() throws Exception {
+		assertEquals(true, execute("return nodes.asSet().isTypeOf(Set);"));
+		assertEquals(true, execute("return nodes.asOrderedSet().isTypeOf(OrderedSet);"));
+		assertEquals(true, execute("return nodes.asOrderedSet().select(n | n.name <> 'a').isTypeOf(OrderedSet);"));
+		assertEquals(3, execute("return nodes.asSet().size();"));
+	}
+
+	@Test
+	public void modifiedSetsAreComputedWithEol() throws Exception {
+		Object result = execute("var s = nodes.select(n | n.name = 'z').asSet(); s.add(1); s.add(1); return s;");
+
+		assertTrue(result instanceof GremlinPipelineSetWrapper);
+		assertTrue(((GremlinPipelineSetWrapper) result).isModified());
+		assertEquals(1, ((GremlinPipelineSetWrapper) result).size());
+		assertEquals(true, execute("var s = nodes.select(n | n.name = 'z').asSet(); s.add(1); return s.includes(1);"));
+	}
+
+	private Object execute(String program) throws Exception {
+		EolModule module = new EolModule();
+		module.parse(program);
+		assertTrue(module.getParseProblems().toString(), module.getParseProblems().isEmpty());
+		module.getContext().getFrameStack().put(Variable.createReadOnlyVariable("nodes", nodes));
+		return module.execute();
+	}
+}
@@ -0,0 +1,114 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the retrieval of the concrete subclasses of an {@link EClass} by {@link MetamodelUtils}.
+ */
+public class MetamodelUtilsTest {
+
+	private EPackage ePackage;
+
+	private EPackage subpackage;
+
+	private EClass element;
+
+	private EClass node;
+
+	private EClass abstractNode;
+
+	private EClass leaf;
+
+	@Before
+	public void createPackages() {
+		ePackage = createPackage("graph");
+		subpackage = createPackage("nodes");
+		ePackage.getESubpackages().add(subpackage);
+		element = createClass(ePackage, "Element");
+		abstractNode = createClass(subpackage, "AbstractNode", element);
+		abstractNode.setAbstract(true);
+		node = createClass(subpackage, "Node", abstractNode);
+		leaf = createClass(subpackage, "Leaf", node);
+	}
+
+	@Test
+	public void concreteSubclassesIncludeTheSubpackages() {
+		Collection<EClass> subclasses = MetamodelUtils.getConcreteSubclasses(element,
+				Collections.singleton(ePackage));
+
+		assertEquals(Arrays.asList(element, node, leaf), Arrays.asList(subclasses.toArray()));
+	}
+
+	@Test
+	public void concreteSubclassesOfAnAbstractClass() {
+		Collection<EClass> subclasses = MetamodelUtils.getConcreteSubclasses(abstractNode,
+				Collections.singleton(ePackage));
+
+		assertEquals(Arrays.asList(node, leaf), Arrays.asList(subclasses.toArray()));
+	}
+
+	@Test
+	public void rootPackageOfASubpackage() {
+		assertSame(ePackage, MetamodelUtils.getRootPackage(subpackage));
+		assertSame(ePackage, MetamodelUtils.getRootPackage(ePackage));
+	}
+
+	@Test
+	public void loadedPackagesDoNotResolveDescriptors() {
+		EPackage.Registry registry = new EPackageRegistryImpl();
+		registry.put(ePackage.getNsURI(), ePackage);
+		UnresolvableDescriptor descriptor = new UnresolvableDescriptor();
+		registry.put("http://www.example.org/unloaded", descriptor);
+
+		Collection<EPackage> loaded = MetamodelUtils.getLoadedPackages(registry);
+
+		assertEquals(Collections.singletonList(ePackage), loaded);
+		assertFalse(descriptor.resolved);
+	}
+
+	private static EPackage createPackage(String name) {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName(name);
+		ePackage.setNsURI("http://www.example.org/" + name);
+		return ePackage;
+	}
+
+	private static EClass createClass(EPackage ePackage, String name, EClass... superTypes) {
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(name);
+		eClass.getESuperTypes().addAll(Arrays.asList(superTypes));
+		ePackage.getEClassifiers().add(eClass);
+		return eClass;
+	}
+
+	private static class UnresolvableDescriptor implements EPackage.Descriptor {
+
+		private boolean resolved;
+
+		@Override
+		public EPackage getEPackage() {
+			resolved = true;
+			throw new IllegalStateException("The descriptor must not be resolved");
+		}
+
+		@Override
+		public EFactory getEFactory() {
+			resolved = true;
+			throw new IllegalStateException("The descriptor must not be resolved");
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+
+/**
+ * Tests the storage of the spilled pipeline results by {@link SpilledResultList}, and their release by the
+ * {@link SpilledResultList.Tracker} of the model.
+ */
+public class SpilledResultListTest {
+
+	private NeoEMFModel model;
+
+	private SpilledResultList spilled;
+
+	private Vertex a;
+
+	private Vertex b;
+
+	@Before
+	public void createList() throws Exception {
+		TinkerGraph graph = new TinkerGraph();
+		a = graph.addVertex("a");
+		b = graph.addVertex("b");
+		model = new NeoEMFModel();
+		spilled = new SpilledResultList(model, null);
+		spilled.add(a);
+		spilled.add(null);
+		spilled.add(b);
+	}
+
+	@After
+	public void closeList() {
+		spilled.close();
+	}
+
+	@Test
+	public void positionsAreComputedOnTheIdentifiers() {
+		assertEquals(3, spilled.size());
+		assertEquals(0, spilled.indexOf(a));
+		assertEquals(1, spilled.indexOf(null));
+		assertEquals(2, spilled.lastIndexOf(b));
+		assertEquals(-1, spilled.indexOf("a"));
+	}
+
+	@Test
+	public void clearingTheCachesClosesTheSpilledLists() {
+		assertFalse(spilled.isClosed());
+
+		model.clearCache();
+
+		assertTrue(spilled.isClosed());
+	}
+}
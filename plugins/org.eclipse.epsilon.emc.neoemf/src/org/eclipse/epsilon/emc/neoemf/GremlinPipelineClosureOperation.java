@@ -0,0 +1,50 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.ClosureOperation;
+
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>closure</i> operation.
+ * <p>
+ * This class computes the result of a <i>closure</i> operation on top of a {@link GremlinPipelineListWrapper} or a
+ * single element of a {@link NeoEMFModel} by appending a closure step to the pipeline (see
+ * {@link GremlinQueryCompiler#compileClosure(Expression)}). The navigated references are traversed in the graph, and
+ * only the returned elements are reified. Expressions that cannot be translated are computed by the regular EOL
+ * implementation.
+ */
+public class GremlinPipelineClosureOperation extends ClosureOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			GremlinPipelineListWrapper wrapper;
+			if (target instanceof PersistentEObject) {
+				NeoEMFModel model = (NeoEMFModel) context.getModelRepository().getOwningModel(target);
+				wrapper = model.pipelineOf((PersistentEObject) target);
+			} else {
+				// compute the closure on a copy, the target collection must not be altered
+				wrapper = ((GremlinPipelineListWrapper) target).copy();
+			}
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(wrapper, iterators.get(0), context);
+			if (compiler.compileClosure(expressions.get(0))) {
+				return wrapper;
+			}
+		}
+		NeoLogger.info("Cannot translate the closure expression to Gremlin, computing it with EOL");
+		if (target instanceof GremlinPipelineListWrapper) {
+			((GremlinPipelineListWrapper) target).fallback("closure");
+		}
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
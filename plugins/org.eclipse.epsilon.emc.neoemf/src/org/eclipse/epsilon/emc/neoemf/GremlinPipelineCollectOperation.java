@@ -1,31 +1,27 @@
 package org.eclipse.epsilon.emc.neoemf;
 
+import static java.util.Objects.isNull;
+
 import java.util.List;
 
-import org.eclipse.emf.ecore.EAttribute;
-import org.eclipse.emf.ecore.EReference;
-import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.epsilon.common.module.ModuleElement;
 import org.eclipse.epsilon.eol.dom.Expression;
 import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.OperationCallExpression;
 import org.eclipse.epsilon.eol.dom.Parameter;
-import org.eclipse.epsilon.eol.dom.PropertyCallExpression;
 import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
 import org.eclipse.epsilon.eol.execute.context.IEolContext;
 import org.eclipse.epsilon.eol.execute.operations.declarative.CollectOperation;
 
-import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.gremlin.java.GremlinPipeline;
-import com.tinkerpop.pipes.transform.InVertexPipe;
-import com.tinkerpop.pipes.transform.OutEdgesPipe;
-import com.tinkerpop.pipes.transform.PropertyPipe;
-
-import static java.text.MessageFormat.format;
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
 
 /**
  * A Gremlin implementation of the <i>collect</i> operation.
  * <p>
  * This class computes the result of a <i>collect</i> operation on top of a {@link GremlinPipelineListWrapper} by
- * creating a set of Gremlin steps expressing the collection logic as a traversal sequence.
+ * appending a set of Gremlin steps expressing the collection logic as a traversal sequence to a copy of its pipeline
+ * (see {@link GremlinQueryCompiler}). Expressions that cannot be translated are computed by the regular EOL
+ * implementation.
  */
 public class GremlinPipelineCollectOperation extends CollectOperation {
 
@@ -33,37 +29,38 @@ public class GremlinPipelineCollectOperation extends CollectOperation {
 	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
 			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
 		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
-		GremlinPipeline<Vertex, Object> pipeline = wrapper.getPipeline();
-		// TODO this should be a generic translation method
-		if (expressions.size() == 1) { // multiple expressions not handled for now
-			if (expressions.get(0) instanceof PropertyCallExpression) {
-				PropertyCallExpression propertyCall = (PropertyCallExpression) expressions.get(0);
-				String propertyName = propertyCall.getPropertyNameExpression().getName();
-				EStructuralFeature feature = MetamodelUtils.getFeature(wrapper.getPipelineEndEClassifier(),
-						propertyName);
-				if (feature instanceof EAttribute) {
-					pipeline.add(new PropertyPipe<Vertex, String>(propertyCall.getPropertyNameExpression().getName()));
-					// we can set it safely, it is an EDataType
-					wrapper.setPipelineEndEClassifier(
-							MetamodelUtils.getFeatureClassifier(wrapper.getPipelineEndEClassifier(), propertyName));
-				} else if (feature instanceof EReference) {
-					pipeline.add(new OutEdgesPipe(propertyName));
-					pipeline.add(new InVertexPipe());
-					wrapper.setPipelineEndEClassifier(
-							MetamodelUtils.getFeatureClassifier(wrapper.getPipelineEndEClassifier(), propertyName));
-				} else {
-					throw new IllegalArgumentException(format(
-							"The provided feature {0} ({1}) is not an {2} or {3} instance", propertyName, propertyName,
-							feature.getName(), EAttribute.class.getSimpleName(), EReference.class.getSimpleName()));
-				}
-				return wrapper;
-			} else {
-				throw new UnsupportedOperationException(format("Expected a {0} in the collect's expression, found {1}",
-						PropertyCallExpression.class.getSimpleName(), expressions.get(0).getClass().getName()));
+		if (iterators.size() == 1 && expressions.size() == 1) { // multiple expressions not handled for now
+			// collect on a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copy();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileCollect(expressions.get(0), isFlattened(operationNameExpression))) {
+				return query;
 			}
-		} else {
-			throw new UnsupportedOperationException(format("Collect with multiple expressions are not supported"));
 		}
+		NeoLogger.info("Cannot translate the collect expression to Gremlin, computing it with EOL");
+		wrapper.fallback("collect");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+	/**
+	 * Returns whether the result of the <i>collect</i> is flattened, i.e. if the <i>collect</i> call is the target of a
+	 * {@code flatten()} call.
+	 * <p>
+	 * Nested collections do not need to be built for flattened results, and navigations of many-valued references can
+	 * be translated into a flat traversal.
+	 *
+	 * @param operationNameExpression the name of the <i>collect</i> call
+	 * @return {@code true} if the result of the <i>collect</i> is flattened, {@code false} otherwise
+	 */
+	private static boolean isFlattened(NameExpression operationNameExpression) {
+		ModuleElement collectCall = operationNameExpression.getParent();
+		ModuleElement parent = isNull(collectCall) ? null : collectCall.getParent();
+		if (parent instanceof OperationCallExpression) {
+			OperationCallExpression operationCall = (OperationCallExpression) parent;
+			return "flatten".equals(operationCall.getOperationName())
+					&& operationCall.getTargetExpression() == collectCall && operationCall.getParameterExpressions().isEmpty();
+		}
+		return false;
 	}
 
 }
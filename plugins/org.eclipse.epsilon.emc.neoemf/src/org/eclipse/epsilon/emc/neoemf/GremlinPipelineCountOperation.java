@@ -0,0 +1,45 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.SelectOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>count</i> operation.
+ * <p>
+ * This class computes the number of elements of a {@link GremlinPipelineListWrapper} satisfying a condition by
+ * filtering its pipeline with the translated condition (see {@link GremlinQueryCompiler}), and counts the results
+ * without reifying them. Conditions that cannot be translated are computed by the regular EOL <i>select</i>
+ * implementation.
+ * <p>
+ * <b>Note:</b> EOL does not provide a first-order <i>count</i> operation, this operation is only available on
+ * {@link GremlinPipelineListWrapper}s.
+ */
+public class GremlinPipelineCountOperation extends SelectOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// compute the query on a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copy();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileFilter(expressions.get(0), false)) {
+				return query.size();
+			}
+		}
+		NeoLogger.info("Cannot translate the count condition to Gremlin, computing it with EOL");
+		wrapper.fallback("count");
+		return ((Collection<?>) super.execute(target, operationNameExpression, iterators, expressions, context)).size();
+	}
+
+}
@@ -1,39 +1,93 @@
 package org.eclipse.epsilon.emc.neoemf;
 
+import static java.text.MessageFormat.format;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.epsilon.emc.neoemf.GremlinPipelineStep.PropertyFilterStep;
+import org.eclipse.epsilon.emc.neoemf.GremlinPipelineStep.SortStep;
 import org.eclipse.epsilon.eol.execute.operations.AbstractOperation;
+import org.eclipse.epsilon.eol.execute.operations.contributors.IOperationContributorProvider;
+import org.eclipse.epsilon.eol.execute.operations.contributors.OperationContributor;
 import org.eclipse.epsilon.eol.execute.operations.declarative.IAbstractOperationContributor;
+import org.eclipse.epsilon.eol.types.EolCollectionType;
+import org.eclipse.epsilon.eol.types.EolMap;
+import org.eclipse.epsilon.eol.types.EolSequence;
 
+import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
 import com.tinkerpop.gremlin.java.GremlinStartPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.core.StringId;
 import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
 
 /**
  * A {@link GremlinPipeline} wrapper that allows to manipulate the pipeline contents as an {@link ImmutableList}.
  */
-public class GremlinPipelineListWrapper extends ImmutableList implements IAbstractOperationContributor {
+public class GremlinPipelineListWrapper extends ImmutableList<Object>
+		implements IAbstractOperationContributor, IOperationContributorProvider {
 
 	private NeoEMFModel model;
 
 	/**
-	 * The {@link GremlinPipeline} used to define the query.
+	 * The vertices representing the starting point of the traversal.
+	 * <p>
+	 * These vertices are iterated each time the pipeline is executed.
+	 */
+	private Iterable<Vertex> starts;
+
+	/**
+	 * The {@link GremlinPipelineStep}s used to define the query.
 	 * <p>
 	 * The pipeline's output type cannot be known in advance, it depends on the steps that are added to it through the
 	 * ast navigation. Possible outputs include vertices, edges, as well as literals.
 	 */
-	private GremlinPipeline<Vertex, Object> pipeline;
+	private List<GremlinPipelineStep> steps;
+
+	/**
+	 * The {@link EClass}es the pipeline returns the instances of, if the pipeline only computes an
+	 * <i>allOfType</i> or <i>allOfKind</i> query.
+	 * <p>
+	 * Equality filters on indexed properties added to such a pipeline are computed with a key index lookup (see
+	 * {@link #addStep(GremlinPipelineStep)}).
+	 */
+	private Collection<EClass> instancesOf;
+
+	/**
+	 * The {@link InstancesCache} filled with the identifiers of the vertices returned by the first complete iteration
+	 * of the pipeline, if it returns the instances of {@link #instancesOf} and they are not cached yet (see
+	 * {@link #setInstancesCache(InstancesCache, boolean)}).
+	 */
+	private InstancesCache instancesCache;
+
+	/**
+	 * Whether the instances cached in {@link #instancesCache} are the result of an <i>allOfKind</i> query.
+	 */
+	private boolean instancesKind;
 
 	/**
 	 * The {@link EClassifier} representing the EMF-related type of the pipeline output.
@@ -43,6 +97,32 @@ public class GremlinPipelineListWrapper extends ImmutableList implements IAbstra
 	 */
 	private EClassifier pipelineEndClassifier;
 
+	/**
+	 * The {@link EClassifier} of the starts of the pipeline.
+	 */
+	private EClassifier startClassifier;
+
+	/**
+	 * The {@link EClassifier} of the elements returned by each step of {@link #steps}.
+	 */
+	private List<EClassifier> stepClassifiers;
+
+	/**
+	 * The key index lookup computing the starts of the pipeline, if any (see {@link #lookup(GremlinPipelineStep)}).
+	 */
+	private PropertyFilterStep startLookup;
+
+	/**
+	 * The name of the operation computed with EOL on the results of the pipeline, if any (see
+	 * {@link #fallback(String)}).
+	 */
+	private String fallbackOperation;
+
+	/**
+	 * Whether the steps of the pipeline have been logged since the last modification of the pipeline.
+	 */
+	private boolean explained;
+
 	/**
 	 * The {@link List} caching the results of the pipeline's iteration.
 	 * <p>
@@ -51,11 +131,43 @@ public class GremlinPipelineListWrapper extends ImmutableList implements IAbstra
 	 */
 	private List<Object> fetchedPipeline;
 
+	/**
+	 * The membership keys of the elements of {@link #fetchedPipeline} (see {@link #keyOf(Object)}).
+	 * <p>
+	 * This set is computed on the first membership test on the cached results, and allows to check whether an element
+	 * is contained in the pipeline in constant time.
+	 */
+	private Set<Object> fetchedKeys;
+
+	/**
+	 * The number of results of the pipeline.
+	 * <p>
+	 * This value is computed by counting the results of a fresh copy of the pipeline, without reifying them (see
+	 * {@link #size()}), and is reused by {@link #isEmpty()} and {@link #toArray()}.
+	 */
+	private Integer count;
+
+	/**
+	 * The number of iterators created on the pipeline since its results have been invalidated.
+	 * <p>
+	 * The first iteration streams the results of a fresh copy of the pipeline, and does not cache them. A second
+	 * iteration indicates that the results are consumed multiple times, and fills {@link #fetchedPipeline}.
+	 */
+	private int iterations;
+
+	/**
+	 * The maximum number of results reified at once when streaming the pipeline.
+	 */
+	private static final int STREAMING_CHUNK_SIZE = 1000;
+
 	/**
 	 * Builds a new {@link GremlinPipelineListWrapper} to traverse the provided {@code model}.
 	 * <p>
 	 * The pipeline is initialized with an set of vertices (i.e. the starting point of the traversal), and an
 	 * {@link EClassifier} representing the EMF-related type of the provided vertices.
+	 * <p>
+	 * <b>Note:</b> the provided {@code vertices} are iterated each time the pipeline is executed, and must support
+	 * multiple iterations (e.g. index hits have to be copied in a {@link List} first).
 	 *
 	 * @param model                 the {@link NeoEMFModel} to traverse
 	 * @param vertices              the starting point of the traversal
@@ -64,36 +176,233 @@ public class GremlinPipelineListWrapper extends ImmutableList implements IAbstra
 	 */
 	public static GremlinPipelineListWrapper pipelineOf(NeoEMFModel model, Iterable<Vertex> vertices,
 			EClassifier pipelineEndClassifier) {
-		GremlinPipeline<Vertex, Object> pipeline = new GremlinPipeline<>(new GremlinStartPipe(vertices));
-		pipeline.setStarts(vertices);
-		return new GremlinPipelineListWrapper(model, pipeline, pipelineEndClassifier);
+		return new GremlinPipelineListWrapper(model, vertices, pipelineEndClassifier);
 	}
 
 	/**
 	 * Builds a new {@link GremlinPipelineListWrapper} to traverse the provided {@code model}.
 	 * <p>
-	 * The pipeline is initialized with a {@link GremlinPipeline} holding the traversal logic, and an
-	 * {@link EClassifier} representing the EMF-related type of the pipeline's output.
+	 * The pipeline is initialized with the vertices representing the starting point of the traversal, and an
+	 * {@link EClassifier} representing the EMF-related type of the provided vertices. Computation steps are added to
+	 * the pipeline with {@link #addStep(GremlinPipelineStep)}.
 	 *
 	 * @param model                 the {@link NeoEMFModel} to traverse
-	 * @param pipeline              the {@link GremlinPipeline} holding the traversal logic
-	 * @param pipelineEndClassifier the {@link EClassifier} representing the EMF-related type of the pipeline's output.
+	 * @param starts                the starting point of the traversal
+	 * @param pipelineEndClassifier the {@link EClassifier} representing the EMF-related type of the provided vertices
 	 */
-	public GremlinPipelineListWrapper(NeoEMFModel model, GremlinPipeline<Vertex, Object> pipeline,
-			EClassifier pipelineEndClassifier) {
+	public GremlinPipelineListWrapper(NeoEMFModel model, Iterable<Vertex> starts, EClassifier pipelineEndClassifier) {
 		this.model = model;
-		this.pipeline = pipeline;
+		this.starts = starts;
+		this.steps = new ArrayList<>();
 		this.pipelineEndClassifier = pipelineEndClassifier;
+		this.startClassifier = pipelineEndClassifier;
+		this.stepClassifiers = new ArrayList<>();
+	}
+
+	/**
+	 * Adds a computation step at the end of the pipeline.
+	 * <p>
+	 * This method invalidates the cached results of the pipeline.
+	 * <p>
+	 * If the pipeline returns the instances of a set of {@link EClass}es and {@code step} is an equality filter on a
+	 * property indexed by a key index, the instances matching the filter are directly retrieved from the index and
+	 * replace the starts of the pipeline.
+	 *
+	 * @param step the {@link GremlinPipelineStep} to add
+	 */
+	public void addStep(GremlinPipelineStep step) {
+		if (!lookup(step)) {
+			this.steps.add(step);
+			this.stepClassifiers.add(pipelineEndClassifier);
+		}
+		this.instancesOf = null;
+		this.instancesCache = null;
+		this.fallbackOperation = null;
+		this.explained = false;
+		clearFetchedPipeline();
+		this.count = null;
+		this.iterations = 0;
+	}
+
+	/**
+	 * Creates a copy of this wrapper.
+	 * <p>
+	 * The returned wrapper starts from the same vertices and contains the same steps as this one. Steps added to the
+	 * copy do not modify this wrapper, allowing to compute an intermediate query (e.g. the result of an <i>exists</i>
+	 * operation) without altering the pipeline. The copy is a sequence, whatever the type of this wrapper (see
+	 * {@link #copySameType()}).
+	 *
+	 * @return the created copy
+	 */
+	public GremlinPipelineListWrapper copy() {
+		GremlinPipelineListWrapper copy = new GremlinPipelineListWrapper(model, starts, pipelineEndClassifier);
+		copyTo(copy);
+		return copy;
+	}
+
+	/**
+	 * Creates a copy of this wrapper with the same EOL collection type, as
+	 * {@link EolCollectionType#createSameType(Collection)}.
+	 * <p>
+	 * This method is used by the operations returning a collection of the type of their target (e.g. <i>select</i>),
+	 * the copy of a sequence is created with {@link #copy()}.
+	 *
+	 * @return the created copy
+	 */
+	public GremlinPipelineListWrapper copySameType() {
+		GremlinPipelineListWrapper copy = createSameType(model, starts, pipelineEndClassifier);
+		copyTo(copy);
+		return copy;
+	}
+
+	/**
+	 * Creates a copy of this wrapper without duplicated results, typed as an EOL <i>Set</i> or <i>OrderedSet</i>.
+	 * <p>
+	 * Vertices are compared by identifier, and literals by value. The results are returned in the order of their first
+	 * occurrence, and the returned wrapper is computed lazily as the other pipelines.
+	 *
+	 * @param ordered whether the returned set is an <i>OrderedSet</i>
+	 * @return the created {@link GremlinPipelineSetWrapper}
+	 */
+	public GremlinPipelineSetWrapper toSet(boolean ordered) {
+		GremlinPipelineSetWrapper set = new GremlinPipelineSetWrapper(model, starts, pipelineEndClassifier, ordered);
+		copyTo(set);
+		set.addStep(GremlinPipelineStep.dedup());
+		return set;
+	}
+
+	/**
+	 * Creates an empty wrapper with the same EOL collection type as this one (see {@link #copySameType()}).
+	 *
+	 * @param model                 the {@link NeoEMFModel} to traverse
+	 * @param starts                the starting point of the traversal
+	 * @param pipelineEndClassifier the {@link EClassifier} of the provided vertices
+	 * @return the created wrapper
+	 */
+	protected GremlinPipelineListWrapper createSameType(NeoEMFModel model, Iterable<Vertex> starts,
+			EClassifier pipelineEndClassifier) {
+		return new GremlinPipelineListWrapper(model, starts, pipelineEndClassifier);
+	}
+
+	/**
+	 * Copies the steps of this wrapper into the provided {@code copy}, starting from the same vertices.
+	 */
+	private void copyTo(GremlinPipelineListWrapper copy) {
+		copy.steps.addAll(steps);
+		copy.stepClassifiers.addAll(stepClassifiers);
+		copy.startClassifier = startClassifier;
+		copy.startLookup = startLookup;
+		copy.instancesOf = instancesOf;
+		copy.instancesCache = instancesCache;
+		copy.instancesKind = instancesKind;
+	}
+
+	/**
+	 * Groups the results of the pipeline by the keys computed by the provided {@code key} function.
+	 * <p>
+	 * The keys are computed in a single pass on a fresh copy of the pipeline, without reifying its results. Each
+	 * distinct key is reified once, and is associated to an {@link EolSequence} of the results with this key in their
+	 * original order, as the regular <i>mapBy</i> operation. The results of each group are reified in a single batch
+	 * (see {@link NeoEMFModel#reifyAll(List, EClass)}).
+	 *
+	 * @param key the {@link PipeFunction} computing the key of a result
+	 * @return a {@link Map} associating each key to the results it has been computed from, or {@code null} if the
+	 *         pipeline returns results that are not vertices
+	 */
+	public Map<Object, Object> groupBy(PipeFunction<Object, Object> key) {
+		Map<Object, EolSequence<Object>> groups = new LinkedHashMap<>();
+		for (Object result : newPipeline()) {
+			if (!(result instanceof Vertex)) {
+				// e.g. an undefined value, the keys are computed on vertices only
+				return null;
+			}
+			Object resultKey = key.compute(result);
+			EolSequence<Object> group = groups.get(resultKey);
+			if (isNull(group)) {
+				group = new EolSequence<>();
+				groups.put(resultKey, group);
+			}
+			group.add(result);
+		}
+		Map<Object, Object> map = new EolMap<>();
+		for (Map.Entry<Object, EolSequence<Object>> group : groups.entrySet()) {
+			model.reifyAll(group.getValue(), getResultsEClass());
+			map.put(reify(group.getKey()), group.getValue());
+		}
+		return map;
+	}
+
+	/**
+	 * Sets the {@link EClass}es the pipeline returns the instances of.
+	 * <p>
+	 * This method must be called after the steps computing the instances have been added to the pipeline.
+	 *
+	 * @param metaclasses the {@link EClass}es the pipeline returns the instances of
+	 */
+	public void setInstancesOf(Collection<EClass> metaclasses) {
+		this.instancesOf = metaclasses;
 	}
 
 	/**
-	 * Returns the internal {@link GremlinPipeline}.
+	 * Caches the identifiers of the instances returned by the pipeline when its results are completely iterated for
+	 * the first time.
+	 * <p>
+	 * This method does not iterate the pipeline: the identifiers are collected when its results are fetched or
+	 * streamed, as long as no step has been added to it. They are not cached if their number exceeds the capacity of
+	 * the {@code cache}, or if the {@code cache} has been invalidated during the iteration.
 	 * <p>
-	 * This method is used to add computation steps to an existing {@link GremlinPipeline}.
+	 * This method must be called after {@link #setInstancesOf(Collection)}.
 	 *
-	 * @return the internal {@link GremlinPipeline}
+	 * @param cache the {@link InstancesCache} to fill
+	 * @param kind  {@code true} if the pipeline computes an <i>allOfKind</i> query, {@code false} for an
+	 *              <i>allOfType</i> query
 	 */
-	public GremlinPipeline<Vertex, Object> getPipeline() {
+	public void setInstancesCache(InstancesCache cache, boolean kind) {
+		this.instancesCache = cache;
+		this.instancesKind = kind;
+	}
+
+	/**
+	 * Replaces the pipeline with a key index lookup computing the provided {@code step}, if possible.
+	 *
+	 * @return {@code true} if the pipeline has been replaced by a key index lookup, {@code false} otherwise
+	 */
+	private boolean lookup(GremlinPipelineStep step) {
+		if (isNull(instancesOf) || !(step instanceof PropertyFilterStep)) {
+			return false;
+		}
+		PropertyFilterStep filter = (PropertyFilterStep) step;
+		if (filter.getPredicate() != Compare.EQUAL || !model.isKeyIndexed(filter.getKey())) {
+			return false;
+		}
+		NeoLogger.info(format("Using the key index on {0}", filter.getKey()));
+		this.starts = model.getIndexedInstances(instancesOf, filter.getKey(), filter.getValue());
+		this.steps.clear();
+		this.stepClassifiers.clear();
+		this.startLookup = filter;
+		return true;
+	}
+
+	/**
+	 * Creates a new {@link GremlinPipeline} implementing the steps of this wrapper.
+	 * <p>
+	 * The returned pipeline is a fresh copy of the traversal that can be iterated independently of the other copies.
+	 * Its results are not reified.
+	 *
+	 * @return the created {@link GremlinPipeline}
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public GremlinPipeline<Vertex, Object> newPipeline() {
+		if (model.isExplainEnabled() && !explained) {
+			NeoLogger.info(explain());
+			explained = true;
+		}
+		GremlinPipeline pipeline = new GremlinPipeline<>(new GremlinStartPipe(starts));
+		for (GremlinPipelineStep step : steps) {
+			Pipe<?, ?> pipe = step.createPipe();
+			pipeline.add(pipe);
+		}
+		pipeline.setStarts(starts);
 		return pipeline;
 	}
 
@@ -118,27 +427,236 @@ public class GremlinPipelineListWrapper extends ImmutableList implements IAbstra
 	/**
 	 * Sets the type of the pipeline's output with the provided {@code newEClassifier}.
 	 * <p>
-	 * This method is used when a new computation steps are added to an existing {@link GremlinPipeline} (see
-	 * {@link #getPipeline()}), and when those steps change the pipeline's output type.
+	 * This method is used when new computation steps are added to the pipeline (see
+	 * {@link #addStep(GremlinPipelineStep)}), and when those steps change the type of the results of
+	 * {@link #newPipeline()}.
 	 *
 	 * @param newEClassifier the {@link EClassifier} to set
 	 */
 	public void setPipelineEndEClassifier(EClassifier newEClassifier) {
 		this.pipelineEndClassifier = newEClassifier;
+		if (!stepClassifiers.isEmpty()) {
+			// the type is changed by the last added step
+			stepClassifiers.set(stepClassifiers.size() - 1, newEClassifier);
+		}
+	}
+
+	/**
+	 * Records that the provided operation cannot be translated, and is computed with EOL on the results of the
+	 * pipeline.
+	 * <p>
+	 * The fallback boundary is shown in the description of the pipeline (see {@link #explain()}), which is logged if
+	 * {@link NeoEMFModel#PROPERTY_EXPLAIN} is set.
+	 *
+	 * @param operationName the name of the operation computed with EOL
+	 */
+	public void fallback(String operationName) {
+		this.fallbackOperation = operationName;
+		if (model.isExplainEnabled() && !explained) {
+			NeoLogger.info(explain());
+			explained = true;
+		}
+	}
+
+	/**
+	 * Returns a description of the computation of the pipeline.
+	 * <p>
+	 * The description lists the starts of the pipeline, the steps translated from the EOL query with the
+	 * {@link EClassifier} of the elements returned by each of them, and the operation computed with EOL on the results
+	 * of the pipeline if it cannot be translated (see {@link #fallback(String)}). Sub-expressions computed with EOL
+	 * inside a step are shown as {@code eol@<location>}. The description is logged each time the pipeline is executed
+	 * after a modification if {@link NeoEMFModel#PROPERTY_EXPLAIN} is set.
+	 *
+	 * @return the description of the pipeline
+	 */
+	public String explain() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(format("Gremlin pipeline on {0}", model.getName()));
+		String startsDescription = starts instanceof Collection
+				? format("{0} vertices", String.valueOf(((Collection<?>) starts).size()))
+				: "vertices";
+		if (nonNull(startLookup)) {
+			startsDescription = format("key index lookup {0}", startLookup);
+		}
+		builder.append(format("\n  start: {0} : {1}", startsDescription, nameOf(startClassifier)));
+		for (int i = 0; i < steps.size(); i++) {
+			builder.append(format("\n  {0}. {1} : {2}", String.valueOf(i + 1), steps.get(i),
+					nameOf(stepClassifiers.get(i))));
+		}
+		if (nonNull(fallbackOperation)) {
+			builder.append(format("\n  -- fallback: {0} computed with EOL on the reified results", fallbackOperation));
+		}
+		return builder.toString();
+	}
+
+	private static String nameOf(EClassifier classifier) {
+		return isNull(classifier) ? "?" : classifier.getName();
 	}
 
 	/**
 	 * Provides Gremlin implementations of abstract operations.
 	 * <p>
 	 * This method is called internally by the EOL engine, and returns specific operations optimized for the underlying
-	 * Gremlin engine.
+	 * Gremlin engine. Operations that do not have a Gremlin implementation return {@code null}, and are computed by
+	 * the regular EOL operations.
 	 */
 	@Override
 	public AbstractOperation getAbstractOperation(String name) {
 		if ("collect".equals(name)) {
 			return new GremlinPipelineCollectOperation();
+		} else if ("select".equals(name)) {
+			return new GremlinPipelineSelectOperation();
+		} else if ("reject".equals(name)) {
+			return new GremlinPipelineRejectOperation();
+		} else if ("exists".equals(name)) {
+			return new GremlinPipelineExistsOperation();
+		} else if ("forAll".equals(name)) {
+			return new GremlinPipelineForAllOperation();
+		} else if ("one".equals(name)) {
+			return new GremlinPipelineOneOperation();
+		} else if ("none".equals(name)) {
+			return new GremlinPipelineNoneOperation();
+		} else if ("selectOne".equals(name) || "any".equals(name)) {
+			return new GremlinPipelineSelectOneOperation();
+		} else if ("count".equals(name)) {
+			return new GremlinPipelineCountOperation();
+		} else if ("sortBy".equals(name)) {
+			return new GremlinPipelineSortByOperation();
+		} else if ("closure".equals(name)) {
+			return new GremlinPipelineClosureOperation();
+		} else if ("mapBy".equals(name)) {
+			return new GremlinPipelineMapByOperation();
+		}
+		return null;
+	}
+
+	/**
+	 * Provides Gremlin implementations of simple operations.
+	 * <p>
+	 * This method is called internally by the EOL engine. The returned {@link OperationContributor} only contributes
+	 * the operations optimized for the underlying Gremlin engine, the other ones are computed by the regular EOL
+	 * operations.
+	 */
+	@Override
+	public OperationContributor getOperationContributor() {
+		return new GremlinPipelineOperationContributor(this);
+	}
+
+	/**
+	 * Returns the first result of the pipeline.
+	 * <p>
+	 * This method does not iterate the pipeline further than its first result, and only reifies this result.
+	 *
+	 * @return the first result of the pipeline, or {@code null} if the pipeline does not return any result
+	 */
+	public Object first() {
+		if (isFetched()) {
+			return fetchedPipeline.isEmpty() ? null : fetchedPipeline.get(0);
 		}
-		throw new UnsupportedOperationException();
+		GremlinPipeline<Vertex, Object> pipeline = limit(1).newPipeline();
+		return pipeline.hasNext() ? reify(pipeline.next()) : null;
+	}
+
+	/**
+	 * Creates a copy of this wrapper returning at most its first {@code limit} results.
+	 * <p>
+	 * If the pipeline ends with a sort step, the sort is bounded to the first {@code limit} elements instead of
+	 * sorting all of them (see {@link SortStep#limit(int)}).
+	 *
+	 * @param limit the maximum number of results to return, must be positive
+	 * @return the created {@link GremlinPipelineListWrapper}
+	 */
+	public GremlinPipelineListWrapper limit(int limit) {
+		int last = steps.size() - 1;
+		if (last >= 0 && steps.get(last) instanceof SortStep) {
+			GremlinPipelineListWrapper sorted = copy();
+			sorted.steps.set(last, ((SortStep) steps.get(last)).limit(limit));
+			return sorted;
+		}
+		return range(0, limit - 1);
+	}
+
+	/**
+	 * Creates a copy of this wrapper returning the results between the positions {@code low} and {@code high}
+	 * (inclusive).
+	 *
+	 * @param low  the position of the first result to return
+	 * @param high the position of the last result to return, or {@code -1} to return the results until the end of
+	 *             the pipeline
+	 * @return the created {@link GremlinPipelineListWrapper}
+	 * @see GremlinPipelineStep#range(int, int)
+	 */
+	private GremlinPipelineListWrapper range(int low, int high) {
+		GremlinPipelineListWrapper range = copy();
+		range.addStep(GremlinPipelineStep.range(low, high));
+		return range;
+	}
+
+	/**
+	 * Returns whether the provided pipeline {@code result} represents the provided {@code o}.
+	 * <p>
+	 * Vertices are compared with {@link PersistentEObject}s by identifier, without reifying them.
+	 */
+	private static boolean matches(Object result, Object o) {
+		return Objects.equals(keyOf(result), keyOf(o));
+	}
+
+	/**
+	 * Returns the key used to test the membership of the provided {@code o} in the pipeline.
+	 * <p>
+	 * Vertices and {@link PersistentEObject}s are represented by their {@link Id}, allowing to compare the results of
+	 * the pipeline with reified elements without reifying them. Other values are represented by themselves.
+	 */
+	private static Object keyOf(Object o) {
+		if (o instanceof PersistentEObject) {
+			return ((PersistentEObject) o).id();
+		} else if (o instanceof Vertex) {
+			return new StringId(((Vertex) o).getId().toString());
+		}
+		return o;
+	}
+
+	/**
+	 * Returns the keys of the provided {@code elements} (see {@link #keyOf(Object)}).
+	 */
+	private static Set<Object> keysOf(Collection<?> elements) {
+		Set<Object> keys = new HashSet<>();
+		for (Object element : elements) {
+			keys.add(keyOf(element));
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns whether the results of the pipeline are cached.
+	 * <p>
+	 * Spilled results released by the model (see {@link NeoEMFModel#clearCache()}) are discarded, they are fetched
+	 * again when needed.
+	 */
+	private boolean isFetched() {
+		if (fetchedPipeline instanceof SpilledResultList && ((SpilledResultList) fetchedPipeline).isClosed()) {
+			clearFetchedPipeline();
+		}
+		return nonNull(fetchedPipeline);
+	}
+
+	/**
+	 * Returns whether the membership tests can use the keys of the cached results of the pipeline.
+	 * <p>
+	 * The keys of spilled results are not computed, they would be stored in the heap.
+	 */
+	private boolean hasFetchedKeys() {
+		return nonNull(fetchedPipeline) && !(fetchedPipeline instanceof SpilledResultList);
+	}
+
+	/**
+	 * Returns the keys of the cached results of the pipeline, computing them if needed.
+	 */
+	private Set<Object> getFetchedKeys() {
+		if (isNull(fetchedKeys)) {
+			fetchedKeys = keysOf(fetchedPipeline);
+		}
+		return fetchedKeys;
 	}
 
 	/**
@@ -148,67 +666,596 @@ public class GremlinPipelineListWrapper extends ImmutableList implements IAbstra
 	 * pipeline's results.
 	 * <p>
 	 * <b>Note:</b> if a vertex is returned by the pipeline this method will attempt to reify it into a regular
-	 * {@link EObject}.
+	 * {@link EObject}. The results are reified in a single batch once the pipeline has been iterated (see
+	 * {@link NeoEMFModel#reifyAll(List, EClass)}). Primitive values are stored unboxed (see
+	 * {@link PrimitiveResultList}).
 	 */
 	private void fetchPipeline() {
-		this.fetchedPipeline = new ArrayList<>();
-		for (Object o : this.pipeline) {
-			if (o instanceof Vertex) {
-				fetchedPipeline.add(model.getBackend().reifyVertex((Vertex) o));
-			} else {
-				fetchedPipeline.add(o);
+		List<Object> results = PrimitiveResultList.create(pipelineEndClassifier);
+		if (isNull(results)) {
+			results = new ArrayList<>();
+		}
+		int spillThreshold = pipelineEndClassifier instanceof EClass ? model.getSpillThreshold() : 0;
+		InstancesCollector collector = collectInstances();
+		for (Object o : newPipeline()) {
+			if (nonNull(collector)) {
+				collector.add(o);
+			}
+			if (results instanceof PrimitiveResultList && !((PrimitiveResultList) results).accepts(o)) {
+				// e.g. an undefined value, store the results as objects
+				results = new ArrayList<>(results);
+			} else if (results instanceof SpilledResultList && !((SpilledResultList) results).accepts(o)) {
+				NeoLogger.warn(format("Cannot spill {0}, storing the results in memory", o));
+				SpilledResultList spilled = (SpilledResultList) results;
+				results = spilled.toVertexList();
+				spilled.close();
+			} else if (spillThreshold > 0 && results.size() == spillThreshold && results instanceof ArrayList) {
+				results = spill(results);
+				spillThreshold = 0;
 			}
+			results.add(o);
+		}
+		if (nonNull(collector)) {
+			collector.complete();
+		}
+		if (results instanceof PrimitiveResultList) {
+			((PrimitiveResultList) results).trimToSize();
+		} else if (!(results instanceof SpilledResultList)) {
+			model.reifyAll(results, getResultsEClass());
 		}
+		clearFetchedPipeline();
+		this.fetchedPipeline = results;
+		this.count = fetchedPipeline.size();
 	}
 
+	/**
+	 * Moves the provided fetched {@code results} into a {@link SpilledResultList}.
+	 *
+	 * @param results the results fetched so far
+	 * @return the created {@link SpilledResultList}, or {@code results} if they cannot be spilled
+	 */
+	private List<Object> spill(List<Object> results) {
+		SpilledResultList spilled;
+		try {
+			spilled = new SpilledResultList(model, getResultsEClass());
+		} catch (IOException e) {
+			NeoLogger.error(e);
+			return results;
+		}
+		for (Object result : results) {
+			if (!spilled.accepts(result)) {
+				spilled.close();
+				return results;
+			}
+			spilled.add(result);
+		}
+		NeoLogger.info(format("More than {0} results, spilling their identifiers", results.size()));
+		return spilled;
+	}
+
+	/**
+	 * Discards the cached results of the pipeline, deleting their spill files if needed.
+	 */
+	private void clearFetchedPipeline() {
+		if (fetchedPipeline instanceof SpilledResultList) {
+			((SpilledResultList) fetchedPipeline).close();
+		}
+		this.fetchedPipeline = null;
+		this.fetchedKeys = null;
+	}
+
+	/**
+	 * Reifies the provided pipeline result into a regular {@link EObject} if it is a vertex.
+	 *
+	 * @param o the pipeline result to reify
+	 * @return the reified {@link EObject} if {@code o} is a vertex, {@code o} otherwise
+	 */
+	private Object reify(Object o) {
+		return model.reify(o);
+	}
+
+	/**
+	 * Returns the {@link EClass} of all the vertices returned by the pipeline, if it is known.
+	 * <p>
+	 * The type of the results is known if the pipeline returns the instances of a single metaclass (see
+	 * {@link #setInstancesOf(Collection)}), their metaclass does not need to be navigated to reify them.
+	 *
+	 * @return the {@link EClass} of the returned vertices, or {@code null} if it is unknown
+	 */
+	private EClass getResultsEClass() {
+		if (nonNull(instancesOf) && instancesOf.size() == 1) {
+			return instancesOf.iterator().next();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of results of the pipeline.
+	 * <p>
+	 * The results are counted on a fresh copy of the pipeline and are not reified. The computed value is cached and
+	 * reused until a new step is added to the pipeline.
+	 */
 	@Override
 	public int size() {
-		if (isNull(fetchedPipeline)) {
+		if (isNull(count)) {
+			count = Math.toIntExact(newPipeline().count());
+		}
+		return count;
+	}
+
+	/**
+	 * Returns whether the pipeline has no result.
+	 * <p>
+	 * This method reuses the cached number of results if it has been computed. Otherwise it checks whether a fresh copy
+	 * of the pipeline returns at least one element, without counting or reifying the other ones.
+	 */
+	@Override
+	public boolean isEmpty() {
+		if (nonNull(count)) {
+			return count == 0;
+		}
+		return !newPipeline().hasNext();
+	}
+
+	/**
+	 * Returns an array containing the reified results of the pipeline.
+	 * <p>
+	 * If the number of results has already been computed the array is directly filled from a fresh copy of the
+	 * pipeline, without caching its content in an intermediate {@link List}.
+	 */
+	@Override
+	public Object[] toArray() {
+		if (isFetched()) {
+			return fetchedPipeline.toArray();
+		}
+		if (isNull(count)) {
 			fetchPipeline();
+			return fetchedPipeline.toArray();
+		}
+		Object[] array = new Object[count];
+		int i = 0;
+		InstancesCollector collector = collectInstances();
+		for (Object o : newPipeline()) {
+			if (i == array.length) {
+				// the underlying database has been updated since the last count
+				array = Arrays.copyOf(array, array.length * 2 + 1);
+			}
+			array[i++] = o;
+			if (nonNull(collector)) {
+				collector.add(o);
+			}
+		}
+		if (nonNull(collector)) {
+			collector.complete();
 		}
-		return fetchedPipeline.size();
-//		return Math.toIntExact(this.pipeline.count());
+		array = i == array.length ? array : Arrays.copyOf(array, i);
+		model.reifyAll(Arrays.asList(array), getResultsEClass());
+		return array;
 	}
 
+	/**
+	 * Returns whether the pipeline contains the provided {@code o}.
+	 * <p>
+	 * If the results of the pipeline have been cached, this method checks the identifiers of the cached elements.
+	 * Otherwise, if the pipeline returns vertices, the identifier of {@code o} is checked by a copy of the pipeline
+	 * filtering its results by identifier. Literal results are compared with {@code o} without being cached.
+	 */
 	@Override
 	public boolean contains(Object o) {
-		throw new UnsupportedOperationException();
+		if (hasFetchedKeys()) {
+			return getFetchedKeys().contains(keyOf(o));
+		}
+		if (pipelineEndClassifier instanceof EClass) {
+			if (!(o instanceof PersistentEObject)) {
+				return false;
+			}
+			GremlinPipelineListWrapper query = copy();
+			query.addStep(GremlinPipelineStep.idFilter(Compare.EQUAL, ((PersistentEObject) o).id().toString()));
+			query.addStep(GremlinPipelineStep.range(0, 0));
+			return query.newPipeline().hasNext();
+		}
+		return indexOf(o) != -1;
 	}
 
+	/**
+	 * Returns whether the pipeline contains all the elements of the provided collection {@code c}.
+	 * <p>
+	 * The identifiers of the elements of {@code c} are stored in a {@link Set}, and a fresh copy of the pipeline is
+	 * iterated until all of them have been found, without reifying its results.
+	 */
 	@Override
-	public boolean containsAll(Collection c) {
-		throw new UnsupportedOperationException();
+	public boolean containsAll(Collection<?> c) {
+		if (hasFetchedKeys()) {
+			return getFetchedKeys().containsAll(keysOf(c));
+		}
+		Set<Object> remaining = keysOf(c);
+		Iterator<Object> it = newPipeline();
+		while (!remaining.isEmpty() && it.hasNext()) {
+			remaining.remove(keyOf(it.next()));
+		}
+		return remaining.isEmpty();
 	}
 
+	/**
+	 * Returns whether the pipeline contains at least one of the elements of the provided collection {@code c}.
+	 * <p>
+	 * The identifiers of the elements of {@code c} are stored in a {@link Set}, and a fresh copy of the pipeline is
+	 * iterated until one of them is found, without reifying its results.
+	 *
+	 * @param c the elements to look for
+	 * @return {@code true} if the pipeline contains one of the elements of {@code c}, {@code false} otherwise
+	 */
+	public boolean containsAny(Collection<?> c) {
+		Set<Object> keys = keysOf(c);
+		if (hasFetchedKeys()) {
+			return !Collections.disjoint(getFetchedKeys(), keys);
+		}
+		if (keys.isEmpty()) {
+			return false;
+		}
+		for (Object result : newPipeline()) {
+			if (keys.contains(keyOf(result))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the reified result of the pipeline at the provided {@code index}.
+	 * <p>
+	 * If the results of the pipeline have not been cached, this method computes a copy of the pipeline stopping at the
+	 * requested position, and only reifies the returned element.
+	 */
 	@Override
-	public EObject get(int index) {
-		throw new UnsupportedOperationException();
+	public Object get(int index) {
+		if (isFetched()) {
+			return fetchedPipeline.get(index);
+		}
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(format("Index: {0}", index));
+		}
+		GremlinPipeline<Vertex, Object> pipeline = range(index, index).newPipeline();
+		if (!pipeline.hasNext()) {
+			throw new IndexOutOfBoundsException(format("Index: {0}, Size: {1}", index, size()));
+		}
+		return reify(pipeline.next());
 	}
 
+	/**
+	 * Returns the position of the first result of the pipeline representing the provided {@code o}.
+	 * <p>
+	 * If the results of the pipeline have not been cached, this method iterates a fresh copy of the pipeline until
+	 * {@code o} is found, without reifying its results.
+	 */
 	@Override
 	public int indexOf(Object o) {
-		throw new UnsupportedOperationException();
+		if (isFetched()) {
+			return fetchedPipeline.indexOf(o);
+		}
+		int index = 0;
+		for (Object result : newPipeline()) {
+			if (matches(result, o)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
 	}
 
+	/**
+	 * Returns the position of the last result of the pipeline representing the provided {@code o}.
+	 * <p>
+	 * If the results of the pipeline have not been cached, this method iterates a fresh copy of the pipeline without
+	 * reifying its results.
+	 */
 	@Override
 	public int lastIndexOf(Object o) {
-		throw new UnsupportedOperationException();
+		if (isFetched()) {
+			return fetchedPipeline.lastIndexOf(o);
+		}
+		int index = 0;
+		int lastIndex = -1;
+		for (Object result : newPipeline()) {
+			if (matches(result, o)) {
+				lastIndex = index;
+			}
+			index++;
+		}
+		return lastIndex;
+	}
+
+	/**
+	 * Returns a view of the results of the pipeline between {@code fromIndex} (inclusive) and {@code toIndex}
+	 * (exclusive).
+	 * <p>
+	 * If the results of the pipeline have not been cached, the returned list is a lazy
+	 * {@link GremlinPipelineListWrapper} limited to the requested positions. Its size may be lower than
+	 * {@code toIndex - fromIndex} if the pipeline has less than {@code toIndex} results.
+	 */
+	@Override
+	public List<Object> subList(int fromIndex, int toIndex) {
+		if (isFetched()) {
+			return fetchedPipeline.subList(fromIndex, toIndex);
+		}
+		if (fromIndex < 0 || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException(format("fromIndex: {0}, toIndex: {1}", fromIndex, toIndex));
+		}
+		if (fromIndex == toIndex) {
+			return Collections.emptyList();
+		}
+		return range(fromIndex, toIndex - 1);
 	}
 
+	/**
+	 * Returns an iterator over the reified results of the pipeline.
+	 * <p>
+	 * The first iterator streams the results of a fresh copy of the pipeline, and reifies them in bounded chunks (see
+	 * {@link StreamingIterator}). This allows single-pass consumers (e.g. {@code for} loops or {@code println}) to
+	 * iterate large pipelines in constant memory. Subsequent calls cache the results of the pipeline (see
+	 * {@link #fetchPipeline()}) in order to avoid re-executing the traversal for each iteration.
+	 */
 	@Override
-	public Iterator iterator() {
+	public Iterator<Object> iterator() {
 		NeoLogger.info("Getting an iterator on the Gremlin Pipeline (iterating a full pipeline can be costly)");
-		if (isNull(fetchedPipeline)) {
-			fetchPipeline();
+		if (isFetched()) {
+			return fetchedPipeline.iterator();
+		}
+		iterations++;
+		if (iterations == 1) {
+			return new StreamingIterator(newPipeline());
 		}
+		NeoLogger.info("The Gremlin Pipeline is iterated multiple times, caching its results");
+		fetchPipeline();
 		return fetchedPipeline.iterator();
-		// iterator is exhausted when pretty printing huhu
-//		return pipeline.iterator();
 	}
 
 	@Override
-	public ListIterator listIterator() {
-		throw new UnsupportedOperationException();
+	public ListIterator<Object> listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a {@link ListIterator} over the reified results of the pipeline, starting at the provided
+	 * {@code index}.
+	 * <p>
+	 * If the results of the pipeline have not been cached, the returned iterator streams a copy of the pipeline
+	 * starting at {@code index} (see {@link WindowListIterator}).
+	 */
+	@Override
+	public ListIterator<Object> listIterator(int index) {
+		if (isFetched()) {
+			return fetchedPipeline.listIterator(index);
+		}
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(format("Index: {0}", index));
+		}
+		return new WindowListIterator(index);
+	}
+
+	/**
+	 * A {@link ListIterator} streaming the results of the pipeline from a given position.
+	 * <p>
+	 * The results are reified when they are first returned, and kept in memory to allow backward iterations. Only the
+	 * results between the starting position and the furthest returned one are reified: results located before the
+	 * starting position are retrieved one by one (see {@link GremlinPipelineListWrapper#get(int)}).
+	 */
+	private class WindowListIterator implements ListIterator<Object> {
+
+		private GremlinPipeline<Vertex, Object> pipeline;
+
+		/**
+		 * The position of the first element of {@link #window}.
+		 */
+		private int start;
+
+		/**
+		 * The reified results of the pipeline, starting at position {@link #start}.
+		 */
+		private List<Object> window = new ArrayList<>();
+
+		/**
+		 * The position of the next result in {@link #window}.
+		 */
+		private int cursor;
+
+		public WindowListIterator(int start) {
+			this.start = start;
+			this.pipeline = start == 0 ? newPipeline() : range(start, -1).newPipeline();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return cursor < window.size() || pipeline.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			if (cursor == window.size()) {
+				if (!pipeline.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				window.add(reify(pipeline.next()));
+			}
+			return window.get(cursor++);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return start + cursor > 0;
+		}
+
+		@Override
+		public Object previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			if (cursor == 0) {
+				start--;
+				window.add(0, get(start));
+				return window.get(0);
+			}
+			return window.get(--cursor);
+		}
+
+		@Override
+		public int nextIndex() {
+			return start + cursor;
+		}
+
+		@Override
+		public int previousIndex() {
+			return start + cursor - 1;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(Object e) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(Object e) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Creates an {@link InstancesCollector} filling the {@link InstancesCache} of the pipeline during an iteration of
+	 * its results.
+	 *
+	 * @return the created {@link InstancesCollector}, or {@code null} if the instances returned by the pipeline are
+	 *         not cached (see {@link #setInstancesCache(InstancesCache, boolean)})
+	 */
+	private InstancesCollector collectInstances() {
+		if (isNull(instancesCache) || isNull(instancesOf) || !(pipelineEndClassifier instanceof EClass)) {
+			return null;
+		}
+		return new InstancesCollector(instancesCache, (EClass) pipelineEndClassifier, instancesKind);
+	}
+
+	/**
+	 * Collects the identifiers of the vertices returned by an iteration of the pipeline, and caches them once the
+	 * iteration is complete.
+	 * <p>
+	 * The identifiers are discarded when their number exceeds the capacity of the cache, and are not cached if the
+	 * cache has been invalidated since the beginning of the iteration (e.g. if an instance has been created by the
+	 * loop iterating the results).
+	 */
+	private class InstancesCollector {
+
+		private InstancesCache cache;
+
+		private EClass eClass;
+
+		private boolean kind;
+
+		private int modificationCount;
+
+		private List<Object> ids = new ArrayList<>();
+
+		public InstancesCollector(InstancesCache cache, EClass eClass, boolean kind) {
+			this.cache = cache;
+			this.eClass = eClass;
+			this.kind = kind;
+			this.modificationCount = cache.getModificationCount();
+		}
+
+		public void add(Object result) {
+			if (isNull(ids)) {
+				return;
+			}
+			if (result instanceof Vertex && ids.size() < cache.getCapacity()) {
+				ids.add(((Vertex) result).getId());
+			} else {
+				ids = null;
+			}
+		}
+
+		public void complete() {
+			if (isNull(ids)) {
+				NeoLogger.info(format("Too many instances of {0} to cache them", eClass.getName()));
+			} else if (cache.getModificationCount() == modificationCount) {
+				cache.put(eClass, kind, ids);
+			}
+			if (instancesCache == cache) {
+				// the instances are cached or too many, the next iterations do not need to collect them
+				instancesCache = null;
+			}
+		}
+	}
+
+	/**
+	 * An {@link Iterator} streaming the results of a {@link GremlinPipeline} without caching them.
+	 * <p>
+	 * The pipeline's results are reified by batches of {@link #STREAMING_CHUNK_SIZE} elements, and only the current
+	 * chunk is kept in memory. The number of results is stored in {@link GremlinPipelineListWrapper#count} once the
+	 * pipeline is exhausted.
+	 */
+	private class StreamingIterator implements Iterator<Object> {
+
+		private GremlinPipeline<Vertex, Object> pipeline;
+
+		private List<Object> chunk = new ArrayList<>(STREAMING_CHUNK_SIZE);
+
+		private EClass resultsEClass;
+
+		private InstancesCollector collector;
+
+		private int chunkIndex;
+
+		private int streamed;
+
+		public StreamingIterator(GremlinPipeline<Vertex, Object> pipeline) {
+			this.pipeline = pipeline;
+			this.resultsEClass = getResultsEClass();
+			this.collector = collectInstances();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (chunkIndex < chunk.size()) {
+				return true;
+			}
+			chunk.clear();
+			chunkIndex = 0;
+			while (chunk.size() < STREAMING_CHUNK_SIZE && pipeline.hasNext()) {
+				Object o = pipeline.next();
+				chunk.add(o);
+				if (nonNull(collector)) {
+					collector.add(o);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				model.reifyAll(chunk, resultsEClass);
+			}
+			streamed += chunk.size();
+			if (chunk.isEmpty() && isNull(count)) {
+				count = streamed;
+			}
+			if (chunk.isEmpty() && nonNull(collector)) {
+				collector.complete();
+				collector = null;
+			}
+			return !chunk.isEmpty();
+		}
+
+		@Override
+		public Object next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return chunk.get(chunkIndex++);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
 	}
 
 }
@@ -0,0 +1,49 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.util.Objects.nonNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.epsilon.emc.neoemf.GremlinQueryCompiler.CompiledFunction;
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.MapByOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>mapBy</i> operation.
+ * <p>
+ * This class computes the result of a <i>mapBy</i> operation on top of a {@link GremlinPipelineListWrapper} by
+ * computing the translated key expression on the vertices returned by its pipeline (see
+ * {@link GremlinQueryCompiler#compileKey(Expression)}). Each distinct key is reified once, and the elements
+ * associated to a key are returned as a sequence (see
+ * {@link GremlinPipelineListWrapper#groupBy(com.tinkerpop.pipes.PipeFunction)}). Expressions that cannot be
+ * translated, and pipelines returning other results than vertices, are computed by the regular EOL implementation.
+ */
+public class GremlinPipelineMapByOperation extends MapByOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		// literals are grouped by the regular implementation
+		if (iterators.size() == 1 && expressions.size() == 1 && wrapper.getPipelineEndEClassifier() instanceof EClass) {
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(wrapper, iterators.get(0), context);
+			CompiledFunction key = compiler.compileKey(expressions.get(0));
+			Map<Object, Object> groups = nonNull(key) ? wrapper.groupBy(key) : null;
+			if (nonNull(groups)) {
+				return groups;
+			}
+		}
+		NeoLogger.info("Cannot translate the mapBy expression to Gremlin, computing it with EOL");
+		wrapper.fallback("mapBy");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
@@ -0,0 +1,44 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.ExistsOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>none</i> operation.
+ * <p>
+ * This class computes the result of a <i>none</i> operation, i.e. the negation of <i>exists</i>, on top of a
+ * {@link GremlinPipelineListWrapper} by filtering its pipeline with the translated condition (see
+ * {@link GremlinQueryCompiler}), and stops the traversal at the first element satisfying it. Conditions that cannot
+ * be translated are computed by negating the regular EOL <i>exists</i> implementation.
+ * <p>
+ * <b>Note:</b> EOL does not provide a <i>none</i> operation, this operation is only available on
+ * {@link GremlinPipelineListWrapper}s.
+ */
+public class GremlinPipelineNoneOperation extends ExistsOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// compute the query on a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copy();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileFilter(expressions.get(0), false)) {
+				return query.isEmpty();
+			}
+		}
+		NeoLogger.info("Cannot translate the none condition to Gremlin, computing it with EOL");
+		wrapper.fallback("none");
+		return !((Boolean) super.execute(target, operationNameExpression, iterators, expressions, context));
+	}
+
+}
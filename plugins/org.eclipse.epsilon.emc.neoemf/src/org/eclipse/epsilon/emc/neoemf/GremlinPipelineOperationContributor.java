@@ -0,0 +1,325 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.execute.operations.contributors.IterableOperationContributor;
+import org.eclipse.epsilon.eol.execute.operations.contributors.OperationContributor;
+import org.eclipse.epsilon.eol.types.EolSequence;
+
+/**
+ * Gremlin implementations of the simple operations of {@link GremlinPipelineListWrapper}.
+ * <p>
+ * Only the methods declared in this class are contributed to the EOL engine (see {@link #includeInheritedMethods()}),
+ * the other operations are computed by the regular {@link IterableOperationContributor}. This class does not extend
+ * {@link IterableOperationContributor} in order to return lazy {@link GremlinPipelineListWrapper}s from the collection
+ * conversion operations (e.g. <i>asSet</i>).
+ */
+public class GremlinPipelineOperationContributor extends OperationContributor {
+
+	/**
+	 * The {@link IterableOperationContributor} computing the operations that cannot be computed with Gremlin.
+	 */
+	private IterableOperationContributor iterableContributor;
+
+	/**
+	 * Constructs a new {@link GremlinPipelineOperationContributor} computing operations on the provided
+	 * {@code wrapper}.
+	 *
+	 * @param wrapper the {@link GremlinPipelineListWrapper} to compute the operations on
+	 */
+	public GremlinPipelineOperationContributor(GremlinPipelineListWrapper wrapper) {
+		setTarget(wrapper);
+		this.iterableContributor = new IterableOperationContributor(wrapper);
+	}
+
+	@Override
+	public boolean contributesTo(Object target) {
+		return target instanceof GremlinPipelineListWrapper;
+	}
+
+	/**
+	 * Returns the first element of the collection without computing the other ones.
+	 *
+	 * @return the first element of the collection, or {@code null} if the collection is empty
+	 */
+	public Object first() {
+		return getWrapper().first();
+	}
+
+	/**
+	 * Returns the first {@code n} elements of the collection without computing the other ones.
+	 * <p>
+	 * The returned collection is a lazy {@link GremlinPipelineListWrapper}. If the collection is the result of a
+	 * <i>sortBy</i> operation, only the first {@code n} sorted elements are kept in memory during the sort (see
+	 * {@link GremlinPipelineListWrapper#limit(int)}).
+	 *
+	 * @param n the number of elements to return
+	 * @return the first {@code n} elements of the collection
+	 */
+	public Collection<Object> first(int n) {
+		if (n <= 0) {
+			return new EolSequence<>();
+		}
+		return getWrapper().limit(n);
+	}
+
+	/**
+	 * Returns the element of the collection at the provided {@code index} without computing the other ones.
+	 *
+	 * @param index the position of the element to return
+	 * @return the element of the collection at the provided {@code index}
+	 * @see GremlinPipelineListWrapper#get(int)
+	 */
+	public Object at(int index) {
+		return getWrapper().get(index);
+	}
+
+	/**
+	 * Returns whether the collection contains the provided {@code object}, comparing elements by identifier.
+	 *
+	 * @param object the element to look for
+	 * @return {@code true} if the collection contains {@code object}, {@code false} otherwise
+	 * @see GremlinPipelineListWrapper#contains(Object)
+	 */
+	public boolean includes(Object object) {
+		return getWrapper().contains(object);
+	}
+
+	/**
+	 * Returns whether the collection does not contain the provided {@code object}, comparing elements by identifier.
+	 *
+	 * @param object the element to look for
+	 * @return {@code true} if the collection does not contain {@code object}, {@code false} otherwise
+	 * @see GremlinPipelineListWrapper#contains(Object)
+	 */
+	public boolean excludes(Object object) {
+		return !getWrapper().contains(object);
+	}
+
+	/**
+	 * Returns whether the collection contains all the provided {@code objects}, iterating it at most once.
+	 *
+	 * @param objects the elements to look for
+	 * @return {@code true} if the collection contains all the {@code objects}, {@code false} otherwise
+	 * @see GremlinPipelineListWrapper#containsAll(Collection)
+	 */
+	public boolean includesAll(Collection<?> objects) {
+		return getWrapper().containsAll(objects);
+	}
+
+	/**
+	 * Returns whether the collection contains none of the provided {@code objects}, iterating it at most once.
+	 *
+	 * @param objects the elements to look for
+	 * @return {@code true} if the collection contains none of the {@code objects}, {@code false} otherwise
+	 * @see GremlinPipelineListWrapper#containsAny(Collection)
+	 */
+	public boolean excludesAll(Collection<?> objects) {
+		return !getWrapper().containsAny(objects);
+	}
+
+	/**
+	 * Returns the sum of the elements of the collection.
+	 * <p>
+	 * If the collection contains numeric literals (e.g. the result of a <i>collect</i> operation on a numeric
+	 * attribute), the sum is computed in a single pass on a fresh copy of the pipeline with a primitive accumulator.
+	 * Other collections are handled by the regular EOL implementation.
+	 *
+	 * @return the sum of the elements of the collection
+	 */
+	public Number sum() {
+		NumericType type = NumericType.of(getWrapper().getPipelineEndEClassifier());
+		if (type == NumericType.INTEGRAL) {
+			long sum = 0;
+			for (Object o : getWrapper().newPipeline()) {
+				if (o instanceof Number) {
+					sum += ((Number) o).longValue();
+				}
+			}
+			return isLong() || sum < Integer.MIN_VALUE || sum > Integer.MAX_VALUE ? (Number) sum : (Number) (int) sum;
+		} else if (type == NumericType.FLOATING) {
+			double sum = 0;
+			boolean empty = true;
+			for (Object o : getWrapper().newPipeline()) {
+				if (o instanceof Number) {
+					sum += ((Number) o).doubleValue();
+					empty = false;
+				}
+			}
+			if (empty) {
+				return 0;
+			}
+			return isFloat() ? (Number) (float) sum : (Number) sum;
+		}
+		return iterableContributor.sum();
+	}
+
+	/**
+	 * Returns the greatest element of the collection, or {@code 0} if the collection is empty.
+	 *
+	 * @return the greatest element of the collection
+	 * @see #max(Number)
+	 */
+	public Number max() {
+		return max(0);
+	}
+
+	/**
+	 * Returns the greatest element of the collection, or {@code defaultValue} if the collection is empty.
+	 * <p>
+	 * If the collection contains numeric literals, the maximum is computed in a single pass on a fresh copy of the
+	 * pipeline. Other collections are handled by the regular EOL implementation.
+	 *
+	 * @param defaultValue the value to return if the collection is empty
+	 * @return the greatest element of the collection
+	 */
+	public Number max(Number defaultValue) {
+		Number max = extremum(true);
+		return max == null ? defaultValue : max;
+	}
+
+	/**
+	 * Returns the smallest element of the collection, or {@code 0} if the collection is empty.
+	 *
+	 * @return the smallest element of the collection
+	 * @see #min(Number)
+	 */
+	public Number min() {
+		return min(0);
+	}
+
+	/**
+	 * Returns the smallest element of the collection, or {@code defaultValue} if the collection is empty.
+	 * <p>
+	 * If the collection contains numeric literals, the minimum is computed in a single pass on a fresh copy of the
+	 * pipeline. Other collections are handled by the regular EOL implementation.
+	 *
+	 * @param defaultValue the value to return if the collection is empty
+	 * @return the smallest element of the collection
+	 */
+	public Number min(Number defaultValue) {
+		Number min = extremum(false);
+		return min == null ? defaultValue : min;
+	}
+
+	/**
+	 * Returns the greatest (resp. smallest) element of the collection.
+	 * <p>
+	 * The elements are compared using primitive values, and the returned element is the instance retrieved from the
+	 * pipeline.
+	 *
+	 * @param max {@code true} to compute the greatest element, {@code false} to compute the smallest one
+	 * @return the greatest (resp. smallest) element of the collection, or {@code null} if the collection is empty
+	 */
+	private Number extremum(boolean max) {
+		NumericType type = NumericType.of(getWrapper().getPipelineEndEClassifier());
+		if (type == NumericType.INTEGRAL) {
+			Number extremum = null;
+			long extremumValue = 0;
+			for (Object o : getWrapper().newPipeline()) {
+				if (o instanceof Number) {
+					long value = ((Number) o).longValue();
+					if (extremum == null || (max ? value > extremumValue : value < extremumValue)) {
+						extremum = (Number) o;
+						extremumValue = value;
+					}
+				}
+			}
+			return extremum;
+		} else if (type == NumericType.FLOATING) {
+			Number extremum = null;
+			double extremumValue = 0;
+			for (Object o : getWrapper().newPipeline()) {
+				if (o instanceof Number) {
+					double value = ((Number) o).doubleValue();
+					if (extremum == null || (max ? value > extremumValue : value < extremumValue)) {
+						extremum = (Number) o;
+						extremumValue = value;
+					}
+				}
+			}
+			return extremum;
+		}
+		return max ? iterableContributor.max(null) : iterableContributor.min(null);
+	}
+
+	private boolean isLong() {
+		Class<?> instanceClass = getWrapper().getPipelineEndEClassifier().getInstanceClass();
+		return instanceClass == long.class || instanceClass == Long.class;
+	}
+
+	private boolean isFloat() {
+		Class<?> instanceClass = getWrapper().getPipelineEndEClassifier().getInstanceClass();
+		return instanceClass == float.class || instanceClass == Float.class;
+	}
+
+	/**
+	 * The kinds of numeric literals returned by a pipeline.
+	 */
+	private enum NumericType {
+		INTEGRAL, FLOATING, OTHER;
+
+		/**
+		 * Returns the kind of literals represented by the provided {@code classifier}.
+		 */
+		private static NumericType of(EClassifier classifier) {
+			if (!(classifier instanceof EDataType)) {
+				return OTHER;
+			}
+			Class<?> instanceClass = classifier.getInstanceClass();
+			if (instanceClass == int.class || instanceClass == Integer.class || instanceClass == long.class
+					|| instanceClass == Long.class || instanceClass == short.class || instanceClass == Short.class
+					|| instanceClass == byte.class || instanceClass == Byte.class) {
+				return INTEGRAL;
+			} else if (instanceClass == double.class || instanceClass == Double.class || instanceClass == float.class
+					|| instanceClass == Float.class) {
+				return FLOATING;
+			}
+			return OTHER;
+		}
+	}
+
+	/**
+	 * Returns the elements of the collection without duplicates.
+	 * <p>
+	 * The returned collection is a lazy {@link GremlinPipelineSetWrapper} filtering the duplicated results of the
+	 * pipeline, typed as an EOL <i>Set</i> (see {@link GremlinPipelineListWrapper#toSet(boolean)}).
+	 *
+	 * @return the elements of the collection without duplicates
+	 */
+	public Collection<Object> asSet() {
+		return getWrapper().toSet(false);
+	}
+
+	/**
+	 * Returns the elements of the collection without duplicates, in the order of their first occurrence.
+	 * <p>
+	 * The returned collection is a lazy {@link GremlinPipelineSetWrapper} filtering the duplicated results of the
+	 * pipeline, typed as an EOL <i>OrderedSet</i> (see {@link GremlinPipelineListWrapper#toSet(boolean)}).
+	 *
+	 * @return the elements of the collection without duplicates
+	 */
+	public Collection<Object> asOrderedSet() {
+		return getWrapper().toSet(true);
+	}
+
+	/**
+	 * Returns the flattened elements of the collection.
+	 * <p>
+	 * The results of a pipeline are never nested collections: navigations of many-valued references are traversed as
+	 * a flat sequence of elements (see {@link GremlinQueryCompiler#compileCollect(Expression, boolean)}). The
+	 * collection is returned as is, and its pipeline is not computed.
+	 *
+	 * @return the collection itself
+	 */
+	public Collection<Object> flatten() {
+		return getWrapper();
+	}
+
+	private GremlinPipelineListWrapper getWrapper() {
+		return (GremlinPipelineListWrapper) target;
+	}
+}
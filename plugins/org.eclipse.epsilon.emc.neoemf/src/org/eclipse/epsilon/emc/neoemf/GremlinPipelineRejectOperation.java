@@ -0,0 +1,40 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.RejectOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>reject</i> operation.
+ * <p>
+ * This class computes the result of a <i>reject</i> operation on top of a {@link GremlinPipelineListWrapper} by
+ * appending a negated filter step to a copy of its pipeline (see {@link GremlinQueryCompiler}). Conditions that
+ * cannot be translated are computed by the regular EOL implementation.
+ */
+public class GremlinPipelineRejectOperation extends RejectOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// filter a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copySameType();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileFilter(expressions.get(0), true)) {
+				return query;
+			}
+		}
+		NeoLogger.info("Cannot translate the reject condition to Gremlin, computing it with EOL");
+		wrapper.fallback("reject");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
@@ -0,0 +1,42 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.SelectOneOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>selectOne</i> operation.
+ * <p>
+ * This class computes the result of a <i>selectOne</i> operation on top of a {@link GremlinPipelineListWrapper} by
+ * filtering its pipeline with the translated condition (see {@link GremlinQueryCompiler}), and only reifies the first
+ * element satisfying it. Conditions that cannot be translated are computed by the regular EOL implementation.
+ * <p>
+ * This operation is also contributed as <i>any</i>, which is not provided by EOL.
+ */
+public class GremlinPipelineSelectOneOperation extends SelectOneOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// compute the query on a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copy();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileFilter(expressions.get(0), false)) {
+				return query.first();
+			}
+		}
+		NeoLogger.info("Cannot translate the selectOne condition to Gremlin, computing it with EOL");
+		wrapper.fallback("selectOne");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
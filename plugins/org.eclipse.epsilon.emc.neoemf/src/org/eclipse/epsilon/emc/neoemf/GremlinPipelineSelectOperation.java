@@ -0,0 +1,40 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.SelectOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>select</i> operation.
+ * <p>
+ * This class computes the result of a <i>select</i> operation on top of a {@link GremlinPipelineListWrapper} by
+ * appending a filter step to a copy of its pipeline (see {@link GremlinQueryCompiler}). Conditions that cannot be
+ * translated are computed by the regular EOL implementation.
+ */
+public class GremlinPipelineSelectOperation extends SelectOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// filter a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copySameType();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileFilter(expressions.get(0), false)) {
+				return query;
+			}
+		}
+		NeoLogger.info("Cannot translate the select condition to Gremlin, computing it with EOL");
+		wrapper.fallback("select");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
@@ -0,0 +1,248 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.epsilon.eol.execute.operations.AbstractOperation;
+import org.eclipse.epsilon.eol.execute.operations.contributors.IterableOperationContributor;
+import org.eclipse.epsilon.eol.execute.operations.contributors.OperationContributor;
+import org.eclipse.epsilon.eol.types.EolCollectionType;
+import org.eclipse.epsilon.eol.types.EolOrderedSet;
+import org.eclipse.epsilon.eol.types.EolSet;
+import org.eclipse.epsilon.eol.types.IEolCollectionTypeResolver;
+
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * A {@link GremlinPipelineListWrapper} without duplicated results, typed as an EOL <i>Set</i> or <i>OrderedSet</i>.
+ * <p>
+ * The results are computed lazily by the pipeline, as for the other wrappers (see
+ * {@link GremlinPipelineListWrapper#toSet(boolean)}). The EOL type of the wrapper is provided by an
+ * {@link IEolCollectionTypeResolver}, and the operations returning a collection of the type of their target (e.g.
+ * <i>select</i>) return {@link GremlinPipelineSetWrapper}s.
+ * <p>
+ * The set can be modified (e.g. with {@code add}): its results are then copied into an {@link EolSet} or an
+ * {@link EolOrderedSet}, and the subsequent operations are computed by the regular EOL implementation.
+ */
+public class GremlinPipelineSetWrapper extends GremlinPipelineListWrapper {
+
+	static {
+		EolCollectionType.getCollectionTypeResolvers().add(new SetTypeResolver());
+	}
+
+	/**
+	 * Whether the wrapper is typed as an <i>OrderedSet</i>.
+	 */
+	private boolean ordered;
+
+	/**
+	 * The elements of the set once it has been modified, or {@code null} if its results are computed by the pipeline.
+	 */
+	private Set<Object> elements;
+
+	/**
+	 * Builds a new {@link GremlinPipelineSetWrapper} to traverse the provided {@code model}.
+	 * <p>
+	 * The results are not deduplicated by this constructor, see {@link GremlinPipelineListWrapper#toSet(boolean)}.
+	 *
+	 * @param model                 the {@link NeoEMFModel} to traverse
+	 * @param starts                the starting point of the traversal
+	 * @param pipelineEndClassifier the {@link EClassifier} representing the EMF-related type of the provided vertices
+	 * @param ordered               whether the wrapper is typed as an <i>OrderedSet</i>
+	 */
+	public GremlinPipelineSetWrapper(NeoEMFModel model, Iterable<Vertex> starts, EClassifier pipelineEndClassifier,
+			boolean ordered) {
+		super(model, starts, pipelineEndClassifier);
+		this.ordered = ordered;
+	}
+
+	/**
+	 * Returns whether the wrapper is typed as an <i>OrderedSet</i>.
+	 *
+	 * @return {@code true} if the wrapper is an <i>OrderedSet</i>, {@code false} if it is a <i>Set</i>
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * Returns whether the set has been modified, i.e. if its elements are no longer computed by the pipeline.
+	 *
+	 * @return {@code true} if the set has been modified, {@code false} otherwise
+	 */
+	public boolean isModified() {
+		return nonNull(elements);
+	}
+
+	@Override
+	protected GremlinPipelineListWrapper createSameType(NeoEMFModel model, Iterable<Vertex> starts,
+			EClassifier pipelineEndClassifier) {
+		return new GremlinPipelineSetWrapper(model, starts, pipelineEndClassifier, ordered);
+	}
+
+	/**
+	 * Provides Gremlin implementations of abstract operations, unless the set has been modified.
+	 */
+	@Override
+	public AbstractOperation getAbstractOperation(String name) {
+		return isModified() ? null : super.getAbstractOperation(name);
+	}
+
+	/**
+	 * Provides Gremlin implementations of simple operations, unless the set has been modified.
+	 */
+	@Override
+	public OperationContributor getOperationContributor() {
+		return isModified() ? new IterableOperationContributor(this) : super.getOperationContributor();
+	}
+
+	@Override
+	public boolean add(Object o) {
+		return modifiable().add(o);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Object> c) {
+		return modifiable().addAll(c);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return modifiable().remove(o);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return modifiable().removeAll(c);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return modifiable().retainAll(c);
+	}
+
+	@Override
+	public void clear() {
+		modifiable().clear();
+	}
+
+	@Override
+	public Object first() {
+		if (isModified()) {
+			return elements.isEmpty() ? null : elements.iterator().next();
+		}
+		return super.first();
+	}
+
+	@Override
+	public int size() {
+		return isModified() ? elements.size() : super.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return isModified() ? elements.isEmpty() : super.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return isModified() ? elements.contains(o) : super.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return isModified() ? elements.containsAll(c) : super.containsAll(c);
+	}
+
+	@Override
+	public boolean containsAny(Collection<?> c) {
+		return isModified() ? !Collections.disjoint(elements, c) : super.containsAny(c);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return isModified() ? elements.toArray() : super.toArray();
+	}
+
+	@Override
+	public <A> A[] toArray(A[] a) {
+		return isModified() ? elements.toArray(a) : super.toArray(a);
+	}
+
+	@Override
+	public Object get(int index) {
+		return isModified() ? asList().get(index) : super.get(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return isModified() ? asList().indexOf(o) : super.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return isModified() ? asList().lastIndexOf(o) : super.lastIndexOf(o);
+	}
+
+	@Override
+	public List<Object> subList(int fromIndex, int toIndex) {
+		return isModified() ? asList().subList(fromIndex, toIndex) : super.subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		return isModified() ? elements.iterator() : super.iterator();
+	}
+
+	@Override
+	public ListIterator<Object> listIterator(int index) {
+		return isModified() ? Collections.unmodifiableList(asList()).listIterator(index) : super.listIterator(index);
+	}
+
+	/**
+	 * Returns the elements of the set, copying the results of the pipeline on the first modification.
+	 */
+	private Set<Object> modifiable() {
+		if (isNull(elements)) {
+			Set<Object> copy = ordered ? new EolOrderedSet<>() : new EolSet<>();
+			for (Object o : this) {
+				copy.add(o);
+			}
+			elements = copy;
+		}
+		return elements;
+	}
+
+	/**
+	 * Returns a copy of the elements of the modified set, in their iteration order.
+	 */
+	private List<Object> asList() {
+		return new ArrayList<>(elements);
+	}
+
+	/**
+	 * Types the {@link GremlinPipelineSetWrapper}s as EOL <i>Set</i>s or <i>OrderedSet</i>s.
+	 */
+	private static class SetTypeResolver implements IEolCollectionTypeResolver {
+
+		@Override
+		public boolean canResolveType(Collection<?> collection) {
+			return collection instanceof GremlinPipelineSetWrapper;
+		}
+
+		@Override
+		public EolCollectionType resolveType(Collection<?> collection) {
+			return ((GremlinPipelineSetWrapper) collection).isOrdered() ? EolCollectionType.OrderedSet
+					: EolCollectionType.Set;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.List;
+
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.operations.declarative.SortByOperation;
+
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A Gremlin implementation of the <i>sortBy</i> operation.
+ * <p>
+ * This class computes the result of a <i>sortBy</i> operation on top of a {@link GremlinPipelineListWrapper} by
+ * appending a sort step to a copy of its pipeline (see {@link GremlinQueryCompiler#compileSortBy(Expression)}). The
+ * sort keys are computed on the vertices, and only the returned elements are reified. Combined with <i>first(n)</i>,
+ * the sort only keeps the first {@code n} elements in memory (see {@link GremlinPipelineListWrapper#limit(int)}).
+ * Expressions that cannot be translated are computed by the regular EOL implementation.
+ */
+public class GremlinPipelineSortByOperation extends SortByOperation {
+
+	@Override
+	public Object execute(Object target, NameExpression operationNameExpression, List<Parameter> iterators,
+			List<Expression> expressions, IEolContext context) throws EolRuntimeException {
+		GremlinPipelineListWrapper wrapper = (GremlinPipelineListWrapper) target;
+		if (iterators.size() == 1 && expressions.size() == 1) {
+			// sort a copy, the target collection must not be altered
+			GremlinPipelineListWrapper query = wrapper.copy();
+			GremlinQueryCompiler compiler = new GremlinQueryCompiler(query, iterators.get(0), context);
+			if (compiler.compileSortBy(expressions.get(0))) {
+				return query;
+			}
+		}
+		NeoLogger.info("Cannot translate the sortBy expression to Gremlin, computing it with EOL");
+		wrapper.fallback("sortBy");
+		return super.execute(target, operationNameExpression, iterators, expressions, context);
+	}
+
+}
@@ -0,0 +1,635 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.text.MessageFormat.format;
+import static java.util.Objects.isNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Predicate;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.DuplicateFilterPipe;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.filter.IdFilterPipe;
+import com.tinkerpop.pipes.filter.PropertyFilterPipe;
+import com.tinkerpop.pipes.filter.RangeFilterPipe;
+import com.tinkerpop.pipes.transform.InEdgesPipe;
+import com.tinkerpop.pipes.transform.InVertexPipe;
+import com.tinkerpop.pipes.transform.OutEdgesPipe;
+import com.tinkerpop.pipes.transform.OutVertexPipe;
+import com.tinkerpop.pipes.transform.PropertyPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+
+/**
+ * A computation step of a {@link GremlinPipelineListWrapper}.
+ * <p>
+ * Pipes are stateful and exhausted after a single iteration. A {@link GremlinPipelineStep} describes the traversal
+ * logic of a pipe, and creates a new {@link Pipe} each time the pipeline is executed. This allows to execute the same
+ * traversal multiple times, e.g. to count its results without iterating and reifying them.
+ * <p>
+ * <b>Note:</b> the {@link PipeFunction}s provided to the steps are shared between the created pipes, and must not hold
+ * any iteration-related state.
+ */
+public abstract class GremlinPipelineStep {
+
+	/**
+	 * Creates a new {@link Pipe} implementing this step.
+	 *
+	 * @return the created {@link Pipe}
+	 */
+	public abstract Pipe<?, ?> createPipe();
+
+	/**
+	 * Returns a description of this step, in a syntax close to the Gremlin one (e.g. {@code outE(superClass)}).
+	 * <p>
+	 * The descriptions of the steps are used to explain the computation of a pipeline (see
+	 * {@link GremlinPipelineListWrapper#explain()}).
+	 *
+	 * @return a description of this step
+	 */
+	@Override
+	public abstract String toString();
+
+	/**
+	 * Creates a step navigating the outgoing edges of a vertex representing a many-valued reference, and returning
+	 * their target vertices.
+	 * <p>
+	 * NeoEMF stores the index of each referenced element in the {@code position} property of the corresponding edge.
+	 * The target vertices of each navigated vertex are returned in the order of the reference.
+	 *
+	 * @param label the label of the edges to navigate, i.e. the name of the reference
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep orderedOutVertices(final String label) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new OrderedOutVerticesPipe(label);
+			}
+
+			@Override
+			public String toString() {
+				return format("out({0}) by position", label);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step navigating the incoming edges of a vertex with the provided {@code label}.
+	 *
+	 * @param label the label of the edges to navigate
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep inEdges(final String label) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new InEdgesPipe(label);
+			}
+
+			@Override
+			public String toString() {
+				return format("inE({0})", label);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step navigating the outgoing edges of a vertex with the provided {@code label}.
+	 *
+	 * @param label the label of the edges to navigate
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep outEdges(final String label) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new OutEdgesPipe(label);
+			}
+
+			@Override
+			public String toString() {
+				return format("outE({0})", label);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step returning the incoming vertex of an edge.
+	 *
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep inVertex() {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new InVertexPipe();
+			}
+
+			@Override
+			public String toString() {
+				return "inV";
+			}
+		};
+	}
+
+	/**
+	 * Creates a step returning the outgoing vertex of an edge.
+	 *
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep outVertex() {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new OutVertexPipe();
+			}
+
+			@Override
+			public String toString() {
+				return "outV";
+			}
+		};
+	}
+
+	/**
+	 * Creates a step returning the value of the property {@code key} of a vertex.
+	 *
+	 * @param key the key of the property to return
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep property(final String key) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new PropertyPipe<Vertex, Object>(key);
+			}
+
+			@Override
+			public String toString() {
+				return format("property({0})", key);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step filtering the vertices whose property {@code key} does not satisfy the provided
+	 * {@code predicate}.
+	 *
+	 * @param key       the key of the property to check
+	 * @param predicate the {@link Predicate} used to compare the property with the provided {@code value}
+	 * @param value     the value to compare the property with
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep propertyFilter(final String key, final Predicate predicate, final Object value) {
+		return new PropertyFilterStep(key, predicate, value);
+	}
+
+	/**
+	 * Creates a step filtering the vertices whose identifier does not satisfy the provided {@code predicate}.
+	 *
+	 * @param predicate the {@link Predicate} used to compare the identifier with the provided {@code id}
+	 * @param id        the identifier to compare the vertices' identifiers with
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep idFilter(final Predicate predicate, final Object id) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new IdFilterPipe(predicate, id);
+			}
+
+			@Override
+			public String toString() {
+				return format("id({0}, {1})", predicate, String.valueOf(id));
+			}
+		};
+	}
+
+	/**
+	 * Creates a step filtering the elements that do not satisfy the provided {@code function}.
+	 *
+	 * @param function the {@link PipeFunction} used to filter the elements
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static <S> GremlinPipelineStep filter(final PipeFunction<S, Boolean> function) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new FilterFunctionPipe<S>(function);
+			}
+
+			@Override
+			public String toString() {
+				return format("filter({0})", function);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step replacing each element by the result of the provided {@code function}.
+	 *
+	 * @param function the {@link PipeFunction} used to transform the elements
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static <S, E> GremlinPipelineStep transform(final PipeFunction<S, E> function) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new TransformFunctionPipe<S, E>(function);
+			}
+
+			@Override
+			public String toString() {
+				return format("transform({0})", function);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step filtering the elements that have already been returned by the pipeline.
+	 * <p>
+	 * Vertices are compared by identifier, and other elements with {@link Object#equals(Object)}.
+	 *
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep dedup() {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new DuplicateFilterPipe<Object>();
+			}
+
+			@Override
+			public String toString() {
+				return "dedup";
+			}
+		};
+	}
+
+	/**
+	 * Creates a step sorting the elements by the keys computed by the provided {@code key} function.
+	 * <p>
+	 * The created step consumes all the elements of the previous steps before returning the first sorted one. Elements
+	 * with equal keys are returned in their original order.
+	 *
+	 * @param key        the {@link PipeFunction} computing the sort key of an element
+	 * @param comparator the {@link Comparator} used to compare the sort keys
+	 * @return the created {@link GremlinPipelineStep}
+	 * @see SortStep#limit(int)
+	 */
+	public static GremlinPipelineStep sort(PipeFunction<Object, Object> key, Comparator<Object> comparator) {
+		return new SortStep(key, comparator, -1);
+	}
+
+	/**
+	 * Creates a step computing the transitive closure of the provided {@code navigation} from each element.
+	 * <p>
+	 * The elements reachable by repeatedly applying the {@code navigation} steps are returned in depth-first
+	 * pre-order, as in the EOL <i>closure</i> operation. Each vertex is returned once, even if it is reachable from
+	 * several elements or through a cycle.
+	 *
+	 * @param navigation the {@link GremlinPipelineStep}s navigating from an element to its successors
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep closure(final List<GremlinPipelineStep> navigation) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new ClosurePipe(navigation);
+			}
+
+			@Override
+			public String toString() {
+				return format("closure({0})", navigation);
+			}
+		};
+	}
+
+	/**
+	 * Creates a step keeping the elements whose position is between {@code low} and {@code high} (inclusive).
+	 * <p>
+	 * The pipeline is not iterated further once the element at position {@code high} has been returned.
+	 *
+	 * @param low  the position of the first element to keep, or {@code -1} to keep the elements from the start
+	 * @param high the position of the last element to keep, or {@code -1} to keep the elements until the end
+	 * @return the created {@link GremlinPipelineStep}
+	 */
+	public static GremlinPipelineStep range(final int low, final int high) {
+		return new GremlinPipelineStep() {
+			@Override
+			public Pipe<?, ?> createPipe() {
+				return new RangeFilterPipe<Object>(low, high);
+			}
+
+			@Override
+			public String toString() {
+				return format("range({0}, {1})", String.valueOf(low), String.valueOf(high));
+			}
+		};
+	}
+
+	/**
+	 * A step filtering the vertices according to one of their properties.
+	 * <p>
+	 * The checked property is exposed to allow the {@link GremlinPipelineListWrapper} to answer equality filters with
+	 * a key index instead of iterating the vertices (see {@link NeoEMFModel#isKeyIndexed(String)}).
+	 */
+	public static class PropertyFilterStep extends GremlinPipelineStep {
+
+		private String key;
+
+		private Predicate predicate;
+
+		private Object value;
+
+		private PropertyFilterStep(String key, Predicate predicate, Object value) {
+			this.key = key;
+			this.predicate = predicate;
+			this.value = value;
+		}
+
+		@Override
+		public Pipe<?, ?> createPipe() {
+			return new PropertyFilterPipe<Vertex, Object>(key, predicate, value);
+		}
+
+		@Override
+		public String toString() {
+			return format("has({0}, {1}, {2})", key, predicate, String.valueOf(value));
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public Predicate getPredicate() {
+			return predicate;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+	}
+
+	/**
+	 * A step sorting the elements according to a key function.
+	 * <p>
+	 * The sort can be bounded to the first elements of the result (see {@link #limit(int)}). Bounded sorts keep the
+	 * smallest elements in a heap of the size of the limit, and do not store the other elements.
+	 */
+	public static class SortStep extends GremlinPipelineStep {
+
+		private PipeFunction<Object, Object> key;
+
+		private Comparator<Object> comparator;
+
+		/**
+		 * The maximum number of returned elements, or {@code -1} if the sort is not bounded.
+		 */
+		private int limit;
+
+		private SortStep(PipeFunction<Object, Object> key, Comparator<Object> comparator, int limit) {
+			this.key = key;
+			this.comparator = comparator;
+			this.limit = limit;
+		}
+
+		@Override
+		public Pipe<?, ?> createPipe() {
+			return new SortPipe(key, comparator, limit);
+		}
+
+		@Override
+		public String toString() {
+			return limit == -1 ? format("order({0})", key) : format("order({0}, {1})", key, String.valueOf(limit));
+		}
+
+		/**
+		 * Creates a copy of this step only returning the first {@code limit} sorted elements.
+		 *
+		 * @param limit the maximum number of returned elements
+		 * @return the created {@link SortStep}
+		 */
+		public SortStep limit(int limit) {
+			return new SortStep(key, comparator, this.limit == -1 ? limit : Math.min(this.limit, limit));
+		}
+	}
+
+	/**
+	 * A {@link Pipe} consuming its starts and returning them sorted by key.
+	 */
+	private static class SortPipe extends AbstractPipe<Object, Object> {
+
+		private PipeFunction<Object, Object> key;
+
+		private Comparator<SortEntry> comparator;
+
+		private int limit;
+
+		private Iterator<SortEntry> sorted;
+
+		public SortPipe(PipeFunction<Object, Object> key, final Comparator<Object> keyComparator, int limit) {
+			this.key = key;
+			this.limit = limit;
+			this.comparator = new Comparator<SortEntry>() {
+				@Override
+				public int compare(SortEntry entry1, SortEntry entry2) {
+					int comparison = keyComparator.compare(entry1.key, entry2.key);
+					// preserve the original order of the elements with equal keys
+					return comparison != 0 ? comparison : Integer.compare(entry1.index, entry2.index);
+				}
+			};
+		}
+
+		@Override
+		protected Object processNextStart() {
+			if (isNull(sorted)) {
+				sorted = sort().iterator();
+			}
+			return sorted.next().element;
+		}
+
+		private List<SortEntry> sort() {
+			int index = 0;
+			if (limit == -1) {
+				List<SortEntry> entries = new ArrayList<>();
+				while (starts.hasNext()) {
+					Object element = starts.next();
+					entries.add(new SortEntry(element, key.compute(element), index++));
+				}
+				Collections.sort(entries, comparator);
+				return entries;
+			}
+			// keep the smallest elements in a max-heap, the greatest one is removed when the limit is exceeded
+			PriorityQueue<SortEntry> heap = new PriorityQueue<>(limit + 1, Collections.reverseOrder(comparator));
+			while (starts.hasNext()) {
+				Object element = starts.next();
+				heap.add(new SortEntry(element, key.compute(element), index++));
+				if (heap.size() > limit) {
+					heap.poll();
+				}
+			}
+			List<SortEntry> entries = new ArrayList<>(heap);
+			Collections.sort(entries, comparator);
+			return entries;
+		}
+
+		@Override
+		public void reset() {
+			sorted = null;
+			super.reset();
+		}
+	}
+
+	/**
+	 * A {@link Pipe} returning the elements reachable from its starts by a navigation, in depth-first pre-order.
+	 */
+	private static class ClosurePipe extends AbstractPipe<Vertex, Vertex> {
+
+		private List<GremlinPipelineStep> navigation;
+
+		/**
+		 * The successors of the vertices on the current path that have not been visited yet.
+		 */
+		private Deque<Iterator<Vertex>> stack = new ArrayDeque<>();
+
+		/**
+		 * The identifiers of the returned vertices.
+		 */
+		private Set<Object> visited = new HashSet<>();
+
+		public ClosurePipe(List<GremlinPipelineStep> navigation) {
+			this.navigation = navigation;
+		}
+
+		@Override
+		protected Vertex processNextStart() {
+			while (true) {
+				if (stack.isEmpty()) {
+					// throws NoSuchElementException when all the starts have been processed
+					stack.push(successors(starts.next()));
+				}
+				Iterator<Vertex> successors = stack.peek();
+				if (!successors.hasNext()) {
+					stack.pop();
+				} else {
+					Vertex vertex = successors.next();
+					if (visited.add(vertex.getId())) {
+						// the successors of the returned vertex are processed before its siblings
+						stack.push(successors(vertex));
+						return vertex;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns an iterator over the successors of the provided {@code vertex}, chaining fresh pipes of the
+		 * navigation steps.
+		 * <p>
+		 * The navigation only returns vertices, attribute values are not navigated by a closure (see
+		 * {@link GremlinQueryCompiler}).
+		 */
+		@SuppressWarnings("unchecked")
+		private Iterator<Vertex> successors(Vertex vertex) {
+			Iterator<?> successors = Collections.singletonList(vertex).iterator();
+			for (GremlinPipelineStep step : navigation) {
+				Pipe<Object, ?> pipe = (Pipe<Object, ?>) step.createPipe();
+				pipe.setStarts((Iterator<Object>) successors);
+				successors = pipe;
+			}
+			return (Iterator<Vertex>) successors;
+		}
+
+		@Override
+		public void reset() {
+			stack.clear();
+			visited.clear();
+			super.reset();
+		}
+	}
+
+	/**
+	 * A {@link Pipe} returning the target vertices of the outgoing edges of its starts, ordered by their
+	 * {@code position} property.
+	 * <p>
+	 * The edges of a vertex are sorted in a buffer reused for all the starts.
+	 */
+	private static class OrderedOutVerticesPipe extends AbstractPipe<Vertex, Vertex> {
+
+		private static final String POSITION = "position";
+
+		private static final Comparator<Edge> POSITION_COMPARATOR = new Comparator<Edge>() {
+			@Override
+			public int compare(Edge edge1, Edge edge2) {
+				return Integer.compare(positionOf(edge1), positionOf(edge2));
+			}
+		};
+
+		private String label;
+
+		private List<Edge> edges = new ArrayList<>();
+
+		private int next;
+
+		public OrderedOutVerticesPipe(String label) {
+			this.label = label;
+		}
+
+		@Override
+		protected Vertex processNextStart() {
+			while (next == edges.size()) {
+				// throws NoSuchElementException when all the starts have been processed
+				Vertex vertex = starts.next();
+				edges.clear();
+				next = 0;
+				for (Edge edge : vertex.getEdges(Direction.OUT, label)) {
+					edges.add(edge);
+				}
+				Collections.sort(edges, POSITION_COMPARATOR);
+			}
+			return edges.get(next++).getVertex(Direction.IN);
+		}
+
+		private static int positionOf(Edge edge) {
+			Object position = edge.getProperty(POSITION);
+			return position instanceof Number ? ((Number) position).intValue() : 0;
+		}
+
+		@Override
+		public void reset() {
+			edges.clear();
+			next = 0;
+			super.reset();
+		}
+	}
+
+	private static class SortEntry {
+
+		private Object element;
+
+		private Object key;
+
+		private int index;
+
+		public SortEntry(Object element, Object key, int index) {
+			this.element = element;
+			this.key = key;
+			this.index = index;
+		}
+	}
+}
@@ -0,0 +1,1290 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.text.MessageFormat.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.epsilon.common.module.ModuleElement;
+import org.eclipse.epsilon.eol.dom.AndOperatorExpression;
+import org.eclipse.epsilon.eol.dom.BooleanLiteral;
+import org.eclipse.epsilon.eol.dom.DivOperatorExpression;
+import org.eclipse.epsilon.eol.dom.DoubleEqualsOperatorExpression;
+import org.eclipse.epsilon.eol.dom.EqualsOperatorExpression;
+import org.eclipse.epsilon.eol.dom.Expression;
+import org.eclipse.epsilon.eol.dom.ExpressionInBrackets;
+import org.eclipse.epsilon.eol.dom.FirstOrderOperationCallExpression;
+import org.eclipse.epsilon.eol.dom.GreaterEqualOperatorExpression;
+import org.eclipse.epsilon.eol.dom.GreaterThanOperatorExpression;
+import org.eclipse.epsilon.eol.dom.ImpliesOperatorExpression;
+import org.eclipse.epsilon.eol.dom.IntegerLiteral;
+import org.eclipse.epsilon.eol.dom.LessEqualOperatorExpression;
+import org.eclipse.epsilon.eol.dom.LessThanOperatorExpression;
+import org.eclipse.epsilon.eol.dom.MinusOperatorExpression;
+import org.eclipse.epsilon.eol.dom.NameExpression;
+import org.eclipse.epsilon.eol.dom.NegativeOperatorExpression;
+import org.eclipse.epsilon.eol.dom.NotEqualsOperatorExpression;
+import org.eclipse.epsilon.eol.dom.NotOperatorExpression;
+import org.eclipse.epsilon.eol.dom.OperationCallExpression;
+import org.eclipse.epsilon.eol.dom.OperatorExpression;
+import org.eclipse.epsilon.eol.dom.OrOperatorExpression;
+import org.eclipse.epsilon.eol.dom.Parameter;
+import org.eclipse.epsilon.eol.dom.PlusOperatorExpression;
+import org.eclipse.epsilon.eol.dom.PropertyCallExpression;
+import org.eclipse.epsilon.eol.dom.RealLiteral;
+import org.eclipse.epsilon.eol.dom.StringLiteral;
+import org.eclipse.epsilon.eol.dom.TimesOperatorExpression;
+import org.eclipse.epsilon.eol.dom.XorOperatorExpression;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+import org.eclipse.epsilon.eol.execute.context.FrameStack;
+import org.eclipse.epsilon.eol.execute.context.FrameType;
+import org.eclipse.epsilon.eol.execute.context.IEolContext;
+import org.eclipse.epsilon.eol.execute.context.Variable;
+import org.eclipse.epsilon.eol.execute.prettyprinting.PrettyPrinterManager;
+import org.eclipse.epsilon.eol.types.NumberUtil;
+
+import com.tinkerpop.blueprints.Compare;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.pipes.PipeFunction;
+
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+
+/**
+ * Compiles EOL {@link Expression}s into Gremlin pipeline steps.
+ * <p>
+ * The compiler translates the expressions provided to a first-order operation (e.g. <i>select</i> or <i>collect</i>)
+ * relatively to the operation's iterator, which is bound to the elements returned by a
+ * {@link GremlinPipelineListWrapper}:
+ * <ul>
+ * <li>navigations starting from the iterator (e.g. {@code c.superClass}) are translated into traversal steps</li>
+ * <li>other expressions (property chains, operation calls, boolean and arithmetic operators, literals) are translated
+ * into {@link PipeFunction}s computed on the vertices returned by the pipeline, without reifying them</li>
+ * </ul>
+ * Sub-expressions that cannot be translated (e.g. calls to user-defined operations) are computed by the EOL engine on
+ * the reified element. The variables they reference are captured when the expression is compiled, allowing to
+ * compute them once the operation has returned and the pipeline is iterated.
+ * <p>
+ * <b>Note:</b> NeoEMF serializes attribute values as {@link String}s in the vertex properties (see
+ * {@link EcoreUtil#convertToString(EDataType, Object)}). Compiled functions parse the stored values before computing
+ * them, while equality filters on literals are computed on the serialized form of the literal.
+ */
+public class GremlinQueryCompiler {
+
+	/**
+	 * The {@link GremlinPipelineListWrapper} the compiled steps are appended to.
+	 */
+	private GremlinPipelineListWrapper wrapper;
+
+	/**
+	 * The iterator {@link Parameter} of the compiled operation.
+	 */
+	private Parameter iterator;
+
+	/**
+	 * The {@link IEolContext} used to evaluate the constants and the sub-expressions that cannot be translated.
+	 */
+	private IEolContext context;
+
+	/**
+	 * Constructs a new {@link GremlinQueryCompiler} translating the expressions of an operation computed on the
+	 * provided {@code wrapper}.
+	 *
+	 * @param wrapper  the {@link GremlinPipelineListWrapper} the compiled steps are appended to
+	 * @param iterator the iterator {@link Parameter} of the operation
+	 * @param context  the {@link IEolContext} used to evaluate the expressions that cannot be translated
+	 */
+	public GremlinQueryCompiler(GremlinPipelineListWrapper wrapper, Parameter iterator, IEolContext context) {
+		this.wrapper = wrapper;
+		this.iterator = iterator;
+		this.context = context;
+	}
+
+	/**
+	 * Appends to the wrapped pipeline the steps computing the provided <i>collect</i> {@code expression}.
+	 * <p>
+	 * Navigations are translated into traversal steps, other expressions are computed by a transformation step. The
+	 * wrapped pipeline is not modified if the {@code expression} cannot be translated.
+	 *
+	 * @param expression the <i>collect</i> expression to translate
+	 * @return {@code true} if the {@code expression} has been translated, {@code false} otherwise
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code expression}
+	 */
+	public boolean compileCollect(Expression expression) throws EolRuntimeException {
+		return compileCollect(expression, false);
+	}
+
+	/**
+	 * Appends to the wrapped pipeline the steps computing the provided <i>collect</i> {@code expression}.
+	 * <p>
+	 * If {@code flatten} is {@code true} the result of the <i>collect</i> is flattened, and navigations of
+	 * many-valued references are translated into a traversal of the referenced elements in the order of the
+	 * references. Empty many-valued references do not produce any result, while undefined single-valued references
+	 * produce {@code null} results as in the flattened EOL collections. Otherwise the regular EOL implementation is
+	 * needed to build the nested collections.
+	 *
+	 * @param expression the <i>collect</i> expression to translate
+	 * @param flatten    {@code true} if the result of the <i>collect</i> is flattened, {@code false} otherwise
+	 * @return {@code true} if the {@code expression} has been translated, {@code false} otherwise
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code expression}
+	 * @see GremlinPipelineStep#orderedOutVertices(String)
+	 */
+	public boolean compileCollect(Expression expression, boolean flatten) throws EolRuntimeException {
+		if (iterator.isExplicitlyTyped()) {
+			// typed iterators also filter the elements by type, this is not supported for now
+			return false;
+		}
+		Navigation navigation = compileNavigation(expression, flatten, true);
+		if (nonNull(navigation)) {
+			for (int i = 0; i < navigation.steps.size(); i++) {
+				wrapper.addStep(navigation.steps.get(i));
+				wrapper.setPipelineEndEClassifier(navigation.classifiers.get(i));
+			}
+			wrapper.setPipelineEndEClassifier(navigation.endClassifier);
+			return true;
+		}
+		CompiledFunction function = compileFunction(expression);
+		if (function.isFallback()) {
+			return false;
+		}
+		wrapper.addStep(GremlinPipelineStep.transform(function));
+		wrapper.setPipelineEndEClassifier(function.getType());
+		return true;
+	}
+
+	/**
+	 * Appends to the wrapped pipeline the steps filtering the elements that satisfy the provided {@code condition}.
+	 * <p>
+	 * Conjunctions are translated into consecutive filter steps, and equality checks between an attribute of the
+	 * iterator and a constant are translated into property filters. The wrapped pipeline is not modified if the
+	 * {@code condition} cannot be translated.
+	 *
+	 * @param condition the boolean {@link Expression} to translate
+	 * @param negate    {@code true} if the created steps should keep the elements that do not satisfy the
+	 *                  {@code condition} (e.g. for <i>reject</i>), {@code false} otherwise
+	 * @return {@code true} if the {@code condition} has been translated, {@code false} otherwise
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code condition}
+	 */
+	public boolean compileFilter(Expression condition, boolean negate) throws EolRuntimeException {
+		if (iterator.isExplicitlyTyped()) {
+			// typed iterators also filter the elements by type, this is not supported for now
+			return false;
+		}
+		List<GremlinPipelineStep> steps = new ArrayList<>();
+		if (!compileFilter(condition, negate, steps)) {
+			return false;
+		}
+		for (GremlinPipelineStep step : steps) {
+			wrapper.addStep(step);
+		}
+		return true;
+	}
+
+	/**
+	 * Appends to the wrapped pipeline a step computing the transitive closure of the provided <i>closure</i>
+	 * {@code expression}.
+	 * <p>
+	 * Only navigations of references starting from the iterator (e.g. {@code x.superClass.type},
+	 * {@code x.eContainer()}, or many-valued references such as {@code x.superInterfaces}) can be translated. The
+	 * wrapped pipeline is not modified if the {@code expression} cannot be translated.
+	 *
+	 * @param expression the <i>closure</i> expression to translate
+	 * @return {@code true} if the {@code expression} has been translated, {@code false} otherwise
+	 * @see GremlinPipelineStep#closure(List)
+	 */
+	public boolean compileClosure(Expression expression) {
+		if (iterator.isExplicitlyTyped()) {
+			// typed iterators also filter the elements by type, this is not supported for now
+			return false;
+		}
+		// the collections returned by the expression are flattened in the closure
+		Navigation navigation = compileNavigation(expression, true, false);
+		if (isNull(navigation) || navigation.steps.isEmpty() || !(navigation.endClassifier instanceof EClass)) {
+			// the navigation is applied to its own results, attribute values cannot be navigated
+			return false;
+		}
+		wrapper.addStep(GremlinPipelineStep.closure(navigation.steps));
+		wrapper.setPipelineEndEClassifier(navigation.endClassifier);
+		return true;
+	}
+
+	/**
+	 * Appends to the wrapped pipeline a step sorting its elements by the provided <i>sortBy</i> {@code expression}.
+	 * <p>
+	 * The sort keys are computed on the vertices returned by the pipeline, and the elements are compared as in the
+	 * regular EOL implementation. The wrapped pipeline is not modified if the {@code expression} cannot be translated.
+	 *
+	 * @param expression the <i>sortBy</i> expression to translate
+	 * @return {@code true} if the {@code expression} has been translated, {@code false} otherwise
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code expression}
+	 * @see GremlinPipelineStep#sort(PipeFunction, Comparator)
+	 */
+	public boolean compileSortBy(Expression expression) throws EolRuntimeException {
+		CompiledFunction function = compileKey(expression);
+		if (isNull(function)) {
+			return false;
+		}
+		wrapper.addStep(GremlinPipelineStep.sort(function, new KeyComparator(context.getPrettyPrinterManager())));
+		return true;
+	}
+
+	/**
+	 * Translates the provided key {@code expression} of a <i>sortBy</i> or <i>mapBy</i> operation into a
+	 * {@link CompiledFunction} computing it on the elements of the pipeline.
+	 *
+	 * @param expression the key {@link Expression} to translate
+	 * @return the {@link CompiledFunction} computing the key, or {@code null} if the {@code expression} cannot be
+	 *         translated
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code expression}
+	 */
+	public CompiledFunction compileKey(Expression expression) throws EolRuntimeException {
+		if (iterator.isExplicitlyTyped()) {
+			// typed iterators also filter the elements by type, this is not supported for now
+			return null;
+		}
+		CompiledFunction function = compileFunction(expression);
+		return function.isFallback() ? null : function;
+	}
+
+	private boolean compileFilter(Expression condition, boolean negate, List<GremlinPipelineStep> steps)
+			throws EolRuntimeException {
+		if (condition instanceof ExpressionInBrackets) {
+			return compileFilter(((ExpressionInBrackets) condition).getExpression(), negate, steps);
+		}
+		if (condition instanceof NotOperatorExpression) {
+			return compileFilter(((NotOperatorExpression) condition).getFirstOperand(), !negate, steps);
+		}
+		if ((!negate && condition instanceof AndOperatorExpression)
+				|| (negate && condition instanceof OrOperatorExpression)) {
+			// a and b (resp. not (a or b)) is computed by two consecutive filters a, b (resp. not a, not b)
+			OperatorExpression operator = (OperatorExpression) condition;
+			List<GremlinPipelineStep> firstSteps = new ArrayList<>();
+			List<GremlinPipelineStep> secondSteps = new ArrayList<>();
+			boolean firstCompiled = compileFilter(operator.getFirstOperand(), negate, firstSteps);
+			boolean secondCompiled = compileFilter(operator.getSecondOperand(), negate, secondSteps);
+			if (firstCompiled && secondCompiled) {
+				steps.addAll(firstSteps);
+				steps.addAll(secondSteps);
+				return true;
+			} else if (firstCompiled || secondCompiled) {
+				// compute the translated operand first to reduce the number of elements reified by the other one
+				steps.addAll(firstCompiled ? firstSteps : secondSteps);
+				Expression fallbackOperand = firstCompiled ? operator.getSecondOperand() : operator.getFirstOperand();
+				steps.add(GremlinPipelineStep.filter(new ConditionFunction(fallback(fallbackOperand), negate)));
+				return true;
+			}
+			return false;
+		}
+		GremlinPipelineStep propertyFilter = compilePropertyFilter(condition, negate);
+		if (nonNull(propertyFilter)) {
+			steps.add(propertyFilter);
+			return true;
+		}
+		CompiledFunction function = compileFunction(condition);
+		if (function.isFallback()) {
+			return false;
+		}
+		steps.add(GremlinPipelineStep.filter(new ConditionFunction(function, negate)));
+		return true;
+	}
+
+	/**
+	 * Translates an equality check between a single-valued attribute of the iterator and a constant into a
+	 * {@link GremlinPipelineStep} comparing the stored property with the serialized constant.
+	 *
+	 * @return the created {@link GremlinPipelineStep}, or {@code null} if the {@code condition} is not an equality
+	 *         check between an attribute of the iterator and a constant
+	 */
+	private GremlinPipelineStep compilePropertyFilter(Expression condition, boolean negate)
+			throws EolRuntimeException {
+		Compare compare;
+		if (condition instanceof EqualsOperatorExpression || condition instanceof DoubleEqualsOperatorExpression) {
+			compare = negate ? Compare.NOT_EQUAL : Compare.EQUAL;
+		} else if (condition instanceof NotEqualsOperatorExpression) {
+			compare = negate ? Compare.EQUAL : Compare.NOT_EQUAL;
+		} else {
+			return null;
+		}
+		OperatorExpression comparison = (OperatorExpression) condition;
+		Expression attributeExpression = comparison.getFirstOperand();
+		Expression valueExpression = comparison.getSecondOperand();
+		EAttribute attribute = getIteratorAttribute(attributeExpression);
+		if (isNull(attribute)) {
+			// try the mirrored comparison (e.g. 'Foo' = c.name)
+			attributeExpression = comparison.getSecondOperand();
+			valueExpression = comparison.getFirstOperand();
+			attribute = getIteratorAttribute(attributeExpression);
+		}
+		if (isNull(attribute) || !isConstant(valueExpression)) {
+			return null;
+		}
+		Object value = context.getExecutorFactory().execute(valueExpression, context);
+		Class<?> instanceClass = attribute.getEAttributeType().getInstanceClass();
+		if (isNull(value) || isNull(instanceClass) || !EcoreUtil.wrapperClassFor(instanceClass).isInstance(value)
+				|| nonNull(attribute.getDefaultValue())) {
+			// unset attributes with a default value are not stored in the vertex
+			return null;
+		}
+		return GremlinPipelineStep.propertyFilter(attribute.getName(), compare,
+				EcoreUtil.convertToString(attribute.getEAttributeType(), value));
+	}
+
+	/**
+	 * Returns the single-valued {@link EAttribute} accessed by the provided {@code expression} on the
+	 * {@code iterator}.
+	 *
+	 * @return the accessed {@link EAttribute}, or {@code null} if the {@code expression} is not a single-valued
+	 *         attribute access on the {@code iterator}
+	 */
+	private EAttribute getIteratorAttribute(Expression expression) {
+		if (expression instanceof PropertyCallExpression) {
+			PropertyCallExpression propertyCall = (PropertyCallExpression) expression;
+			if (isIterator(propertyCall.getTargetExpression())) {
+				EStructuralFeature feature = getFeature(wrapper.getPipelineEndEClassifier(),
+						propertyCall.getPropertyNameExpression().getName());
+				if (feature instanceof EAttribute && !feature.isMany()) {
+					return (EAttribute) feature;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Translates a navigation from the iterator into a sequence of traversal steps.
+	 * <p>
+	 * Chains of single-valued features of arbitrary depth are translated (e.g. {@code c.name} or
+	 * {@code sva.variable.originalCompilationUnit.name}): each reference is navigated with an outgoing edge step
+	 * followed by an incoming vertex step, and the final attribute (if any) is read from the reached vertex. The
+	 * {@link EClassifier} reached by each hop is computed with {@link MetamodelUtils#getFeatureClassifier(EClassifier,
+	 * String)}.
+	 * <p>
+	 * If {@code keepUndefined} is {@code true}, single-valued references are navigated by a transformation step
+	 * returning {@code null} when the reference is not set, as the EOL property access, and the following hops
+	 * propagate the undefined value. Many-valued references cannot be navigated from a possibly undefined element.
+	 * Otherwise elements with an undefined reference in the chain do not produce any result.
+	 *
+	 * @param expression    the {@link Expression} to translate
+	 * @param allowMany     {@code true} if many-valued references can be navigated (i.e. if the result of the
+	 *                      navigation is flattened), {@code false} otherwise
+	 * @param keepUndefined {@code true} if undefined single-valued references produce {@code null} results (e.g. in a
+	 *                      <i>collect</i>), {@code false} if they do not produce any result (e.g. in a <i>closure</i>)
+	 * @return the translated {@link Navigation}, or {@code null} if the {@code expression} is not a supported
+	 *         navigation
+	 */
+	private Navigation compileNavigation(Expression expression, boolean allowMany, boolean keepUndefined) {
+		if (expression instanceof ExpressionInBrackets) {
+			return compileNavigation(((ExpressionInBrackets) expression).getExpression(), allowMany, keepUndefined);
+		}
+		if (isIterator(expression)) {
+			Navigation navigation = new Navigation();
+			navigation.endClassifier = wrapper.getPipelineEndEClassifier();
+			return navigation;
+		}
+		if (expression instanceof OperationCallExpression) {
+			return compileContainerNavigation((OperationCallExpression) expression, allowMany, keepUndefined);
+		}
+		if (!(expression instanceof PropertyCallExpression)) {
+			return null;
+		}
+		PropertyCallExpression propertyCall = (PropertyCallExpression) expression;
+		Navigation navigation = compileNavigation(propertyCall.getTargetExpression(), allowMany, keepUndefined);
+		if (isNull(navigation)) {
+			return null;
+		}
+		EClassifier classifier = navigation.endClassifier;
+		String propertyName = propertyCall.getPropertyNameExpression().getName();
+		EStructuralFeature feature = getFeature(classifier, propertyName);
+		if (isNull(feature) || (feature.isMany() && !(allowMany && feature instanceof EReference))) {
+			// many-valued attributes are stored as arrays in a single property
+			return null;
+		}
+		EClassifier featureClassifier = MetamodelUtils.getFeatureClassifier(classifier, propertyName);
+		if (feature instanceof EAttribute) {
+			EAttribute attribute = (EAttribute) feature;
+			if (attribute.getEAttributeType().getInstanceClass() == String.class
+					&& isNull(attribute.getDefaultValue()) && !navigation.undefined) {
+				// no need to parse the stored value
+				navigation.hop(featureClassifier, GremlinPipelineStep.property(propertyName));
+			} else {
+				navigation.hop(featureClassifier,
+						GremlinPipelineStep.transform(new AttributeFunction(new IdentityFunction(classifier), attribute)));
+			}
+		} else if (feature.isMany()) {
+			if (navigation.undefined) {
+				// the navigation of an undefined element is computed by EOL
+				return null;
+			}
+			navigation.hop(featureClassifier, GremlinPipelineStep.orderedOutVertices(propertyName));
+		} else if (keepUndefined) {
+			navigation.hop(featureClassifier, GremlinPipelineStep.transform(
+					new ReferenceFunction(new IdentityFunction(classifier), (EReference) feature)));
+			navigation.undefined = true;
+		} else {
+			navigation.hop(featureClassifier, GremlinPipelineStep.outEdges(propertyName),
+					GremlinPipelineStep.inVertex());
+		}
+		return navigation;
+	}
+
+	/**
+	 * Translates an {@code eContainer()} call on a navigation into traversal steps.
+	 * <p>
+	 * NeoEMF stores the container of an element as an {@code eContainer} edge from the element's vertex to its
+	 * container's vertex. The type of the container is unknown, and the returned elements are typed as
+	 * {@link EObject}s. Root elements are handled as undefined references (see
+	 * {@link #compileNavigation(Expression, boolean, boolean)}).
+	 *
+	 * @param operationCall the {@link OperationCallExpression} to translate
+	 * @param allowMany     {@code true} if many-valued references can be navigated, {@code false} otherwise
+	 * @param keepUndefined {@code true} if root elements produce {@code null} results, {@code false} otherwise
+	 * @return the translated {@link Navigation}, or {@code null} if the {@code operationCall} is not an
+	 *         {@code eContainer()} call on a translatable navigation
+	 */
+	private Navigation compileContainerNavigation(OperationCallExpression operationCall, boolean allowMany,
+			boolean keepUndefined) {
+		if (!"eContainer".equals(operationCall.getOperationName()) || !operationCall.getParameterExpressions().isEmpty()
+				|| isNull(operationCall.getTargetExpression())) {
+			return null;
+		}
+		Navigation navigation = compileNavigation(operationCall.getTargetExpression(), allowMany, keepUndefined);
+		if (isNull(navigation) || !(navigation.endClassifier instanceof EClass)) {
+			return null;
+		}
+		if (keepUndefined) {
+			navigation.hop(EcorePackage.Literals.EOBJECT, GremlinPipelineStep.transform(new ReferenceFunction(
+					new IdentityFunction(navigation.endClassifier), "eContainer", EcorePackage.Literals.EOBJECT)));
+			navigation.undefined = true;
+		} else {
+			navigation.hop(EcorePackage.Literals.EOBJECT, GremlinPipelineStep.outEdges("eContainer"),
+					GremlinPipelineStep.inVertex());
+		}
+		return navigation;
+	}
+
+	/**
+	 * Translates the provided {@code expression} into a {@link CompiledFunction} computing it on the elements of the
+	 * pipeline.
+	 * <p>
+	 * This method never returns {@code null}: expressions that cannot be translated are compiled into a function
+	 * computing them with the EOL engine (see {@link CompiledFunction#isFallback()}).
+	 *
+	 * @param expression the {@link Expression} to translate
+	 * @return the {@link CompiledFunction} computing the {@code expression}
+	 * @throws EolRuntimeException if an error occurred when evaluating a constant of the {@code expression}
+	 */
+	public CompiledFunction compileFunction(Expression expression) throws EolRuntimeException {
+		if (expression instanceof ExpressionInBrackets) {
+			return compileFunction(((ExpressionInBrackets) expression).getExpression());
+		}
+		if (isIterator(expression)) {
+			return identity();
+		}
+		if (isConstant(expression)) {
+			return new ConstantFunction(context.getExecutorFactory().execute(expression, context));
+		}
+		if (expression instanceof PropertyCallExpression) {
+			return compilePropertyCall((PropertyCallExpression) expression);
+		}
+		if (expression instanceof OperatorExpression) {
+			return compileOperator((OperatorExpression) expression);
+		}
+		if (expression instanceof OperationCallExpression) {
+			return compileOperationCall((OperationCallExpression) expression);
+		}
+		return fallback(expression);
+	}
+
+	private CompiledFunction compilePropertyCall(PropertyCallExpression propertyCall) throws EolRuntimeException {
+		CompiledFunction target = compileFunction(propertyCall.getTargetExpression());
+		EStructuralFeature feature = getFeature(target.getType(),
+				propertyCall.getPropertyNameExpression().getName());
+		if (target.isFallback() || isNull(feature) || feature.isMany()) {
+			return fallback(propertyCall);
+		}
+		if (feature instanceof EAttribute) {
+			return new AttributeFunction(target, (EAttribute) feature);
+		} else {
+			return new ReferenceFunction(target, (EReference) feature);
+		}
+	}
+
+	private CompiledFunction compileOperator(OperatorExpression operator) throws EolRuntimeException {
+		if (operator instanceof NotOperatorExpression) {
+			CompiledFunction operand = compileFunction(operator.getFirstOperand());
+			return operand.isFallback() ? fallback(operator) : new NotFunction(operand);
+		}
+		if (operator instanceof NegativeOperatorExpression) {
+			CompiledFunction operand = compileFunction(operator.getFirstOperand());
+			return operand.isFallback() ? fallback(operator)
+					: new ArithmeticFunction(Operator.MINUS, new ConstantFunction(0), operand);
+		}
+		Operator kind = Operator.of(operator);
+		if (isNull(kind) || isNull(operator.getSecondOperand())) {
+			return fallback(operator);
+		}
+		CompiledFunction left = compileFunction(operator.getFirstOperand());
+		CompiledFunction right = compileFunction(operator.getSecondOperand());
+		if (left.isFallback() && right.isFallback()) {
+			return fallback(operator);
+		}
+		switch (kind) {
+		case AND:
+		case OR:
+		case XOR:
+		case IMPLIES:
+			return new BooleanFunction(kind, left, right);
+		case EQUALS:
+		case NOT_EQUALS:
+		case GREATER_THAN:
+		case GREATER_EQUAL:
+		case LESS_THAN:
+		case LESS_EQUAL:
+			return new ComparisonFunction(kind, left, right);
+		default:
+			return new ArithmeticFunction(kind, left, right);
+		}
+	}
+
+	private CompiledFunction compileOperationCall(OperationCallExpression operationCall) throws EolRuntimeException {
+		String operationName = operationCall.getOperationName();
+		Integer arity = OperationFunction.SUPPORTED_OPERATIONS.get(operationName);
+		if (isNull(arity) || arity != operationCall.getParameterExpressions().size()
+				|| isNull(operationCall.getTargetExpression())) {
+			return fallback(operationCall);
+		}
+		CompiledFunction target = compileFunction(operationCall.getTargetExpression());
+		if (target.isFallback()) {
+			return fallback(operationCall);
+		}
+		CompiledFunction[] parameters = new CompiledFunction[arity];
+		for (int i = 0; i < arity; i++) {
+			parameters[i] = compileFunction(operationCall.getParameterExpressions().get(i));
+		}
+		return new OperationFunction(operationName, target, parameters);
+	}
+
+	/**
+	 * Creates a {@link CompiledFunction} computing the provided {@code expression} with the EOL engine.
+	 * <p>
+	 * The values of the variables referenced by the {@code expression} are captured when this method is called.
+	 */
+	private CompiledFunction fallback(Expression expression) {
+		List<Variable> variables = new ArrayList<>();
+		captureVariables(expression, context.getFrameStack(), variables);
+		return new FallbackFunction(expression, iterator.getName(), variables, wrapper.getModel(), context);
+	}
+
+	private void captureVariables(ModuleElement element, FrameStack frameStack, List<Variable> variables) {
+		if (element instanceof NameExpression && !isIterator(element)) {
+			String name = ((NameExpression) element).getName();
+			Variable variable = frameStack.get(name);
+			if (nonNull(variable)) {
+				variables.add(Variable.createReadOnlyVariable(name, variable.getValue()));
+			}
+		}
+		for (ModuleElement child : element.getChildren()) {
+			captureVariables(child, frameStack, variables);
+		}
+	}
+
+	private CompiledFunction identity() {
+		return new IdentityFunction(wrapper.getPipelineEndEClassifier());
+	}
+
+	private boolean isIterator(ModuleElement element) {
+		return element instanceof NameExpression && ((NameExpression) element).getName().equals(iterator.getName());
+	}
+
+	/**
+	 * Returns whether the provided {@code element} can be evaluated once for all the elements of the pipeline, i.e.
+	 * it does not reference the iterator and does not call any operation.
+	 */
+	private boolean isConstant(ModuleElement element) {
+		if (isIterator(element) || element instanceof OperationCallExpression
+				|| element instanceof FirstOrderOperationCallExpression) {
+			return false;
+		}
+		if (element instanceof StringLiteral || element instanceof IntegerLiteral || element instanceof RealLiteral
+				|| element instanceof BooleanLiteral) {
+			return true;
+		}
+		if (element instanceof NameExpression) {
+			// type names and model names are not values
+			return !((NameExpression) element).isTypeName() && nonNull(context.getFrameStack()
+					.get(((NameExpression) element).getName()));
+		}
+		if (!(element instanceof PropertyCallExpression || element instanceof OperatorExpression
+				|| element instanceof ExpressionInBrackets)) {
+			return false;
+		}
+		for (ModuleElement child : element.getChildren()) {
+			if (!isConstant(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static EStructuralFeature getFeature(EClassifier classifier, String name) {
+		if (classifier instanceof EClass) {
+			return ((EClass) classifier).getEStructuralFeature(name);
+		}
+		return null;
+	}
+
+	/**
+	 * Compares sort keys as the EOL <i>sortBy</i> operation: numbers are compared by value, {@link Comparable}s with
+	 * their natural ordering, and other values with their pretty-printed representation.
+	 */
+	private static class KeyComparator implements Comparator<Object> {
+
+		private PrettyPrinterManager prettyPrinterManager;
+
+		public KeyComparator(PrettyPrinterManager prettyPrinterManager) {
+			this.prettyPrinterManager = prettyPrinterManager;
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		@Override
+		public int compare(Object key1, Object key2) {
+			if (key1 instanceof Number && key2 instanceof Number) {
+				if (NumberUtil.greaterThan((Number) key2, (Number) key1)) {
+					return -1;
+				} else if (NumberUtil.greaterThan((Number) key1, (Number) key2)) {
+					return 1;
+				}
+				return 0;
+			} else if (key1 instanceof Comparable && key2 instanceof Comparable) {
+				return ((Comparable) key1).compareTo(key2);
+			}
+			return prettyPrinterManager.print(key1).compareTo(prettyPrinterManager.print(key2));
+		}
+	}
+
+	/**
+	 * A sequence of traversal steps, and the {@link EClassifier} of the elements it returns.
+	 */
+	private static class Navigation {
+
+		private List<GremlinPipelineStep> steps = new ArrayList<>();
+
+		/**
+		 * The {@link EClassifier} reached by each step of {@link #steps}.
+		 */
+		private List<EClassifier> classifiers = new ArrayList<>();
+
+		private EClassifier endClassifier;
+
+		/**
+		 * Whether the navigation may return {@code null} results, i.e. if an undefined reference has been navigated.
+		 */
+		private boolean undefined;
+
+		/**
+		 * Appends the steps navigating a feature, reaching elements of the provided {@code classifier}.
+		 */
+		private void hop(EClassifier classifier, GremlinPipelineStep... hopSteps) {
+			for (GremlinPipelineStep step : hopSteps) {
+				steps.add(step);
+				classifiers.add(classifier);
+			}
+			endClassifier = classifier;
+		}
+	}
+
+	/**
+	 * A {@link PipeFunction} computing a compiled {@link Expression} on an element of a pipeline.
+	 * <p>
+	 * Elements and results representing model elements are {@link Vertex} instances, other results are the parsed
+	 * values of the attributes (or values computed from them).
+	 */
+	public static abstract class CompiledFunction implements PipeFunction<Object, Object> {
+
+		/**
+		 * The {@link EClassifier} of the results of this function, or {@code null} if it is not known.
+		 */
+		private EClassifier type;
+
+		protected CompiledFunction(EClassifier type) {
+			this.type = type;
+		}
+
+		/**
+		 * Returns the {@link EClassifier} of the results of this function.
+		 *
+		 * @return the {@link EClassifier} of the results, or {@code null} if it is not known
+		 */
+		public EClassifier getType() {
+			return type;
+		}
+
+		/**
+		 * Returns whether this function is computed by the EOL engine.
+		 *
+		 * @return {@code true} if this function is computed by the EOL engine, {@code false} otherwise
+		 */
+		public boolean isFallback() {
+			return false;
+		}
+	}
+
+	private static class IdentityFunction extends CompiledFunction {
+
+		public IdentityFunction(EClassifier type) {
+			super(type);
+		}
+
+		@Override
+		public Object compute(Object element) {
+			return element;
+		}
+
+		@Override
+		public String toString() {
+			return "it";
+		}
+	}
+
+	private static class ConstantFunction extends CompiledFunction {
+
+		private Object value;
+
+		public ConstantFunction(Object value) {
+			super(null);
+			this.value = value;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return value instanceof String ? "\"" + value + "\"" : String.valueOf(value);
+		}
+	}
+
+	/**
+	 * Reads and parses the value of a single-valued attribute stored in a vertex property.
+	 */
+	private static class AttributeFunction extends CompiledFunction {
+
+		private CompiledFunction target;
+
+		private EAttribute attribute;
+
+		public AttributeFunction(CompiledFunction target, EAttribute attribute) {
+			super(attribute.getEAttributeType());
+			this.target = target;
+			this.attribute = attribute;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object vertex = target.compute(element);
+			if (!(vertex instanceof Vertex)) {
+				return null;
+			}
+			Object property = ((Vertex) vertex).getProperty(attribute.getName());
+			if (isNull(property)) {
+				return attribute.getDefaultValue();
+			}
+			return EcoreUtil.createFromString(attribute.getEAttributeType(), property.toString());
+		}
+
+		@Override
+		public String toString() {
+			return target + "." + attribute.getName();
+		}
+	}
+
+	/**
+	 * Navigates a single-valued reference (or the container) from a vertex, returning {@code null} if it is not set.
+	 */
+	private static class ReferenceFunction extends CompiledFunction {
+
+		private CompiledFunction target;
+
+		/**
+		 * The label of the edges representing the reference.
+		 */
+		private String label;
+
+		public ReferenceFunction(CompiledFunction target, EReference reference) {
+			this(target, reference.getName(), reference.getEReferenceType());
+		}
+
+		public ReferenceFunction(CompiledFunction target, String label, EClassifier type) {
+			super(type);
+			this.target = target;
+			this.label = label;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object vertex = target.compute(element);
+			if (!(vertex instanceof Vertex)) {
+				return null;
+			}
+			Iterator<Vertex> referenced = ((Vertex) vertex).getVertices(Direction.OUT, label).iterator();
+			return referenced.hasNext() ? referenced.next() : null;
+		}
+
+		@Override
+		public String toString() {
+			return target + "." + label;
+		}
+	}
+
+	/**
+	 * Computes an {@link Expression} with the EOL engine on the reified element.
+	 */
+	private static class FallbackFunction extends CompiledFunction {
+
+		private Expression expression;
+
+		private String iteratorName;
+
+		private List<Variable> capturedVariables;
+
+		private NeoEMFModel model;
+
+		private IEolContext context;
+
+		public FallbackFunction(Expression expression, String iteratorName, List<Variable> capturedVariables,
+				NeoEMFModel model, IEolContext context) {
+			super(null);
+			this.expression = expression;
+			this.iteratorName = iteratorName;
+			this.capturedVariables = capturedVariables;
+			this.model = model;
+			this.context = context;
+		}
+
+		@Override
+		public boolean isFallback() {
+			return true;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object reified = model.reify(element);
+			List<Variable> variables = new ArrayList<>(capturedVariables);
+			variables.add(Variable.createReadOnlyVariable(iteratorName, reified));
+			context.getFrameStack().enterLocal(FrameType.UNPROTECTED, expression,
+					variables.toArray(new Variable[variables.size()]));
+			try {
+				return context.getExecutorFactory().execute(expression, context);
+			} catch (EolRuntimeException e) {
+				throw new RuntimeException(format("Cannot compute the expression {0} with EOL, see attached exception",
+						expression), e);
+			} finally {
+				context.getFrameStack().leaveLocal(expression);
+			}
+		}
+
+		/**
+		 * Returns the location of the expression, fallback functions mark the parts of a query computed with EOL.
+		 */
+		@Override
+		public String toString() {
+			return "eol@" + expression.getRegion();
+		}
+	}
+
+	/**
+	 * Keeps the elements satisfying (or not satisfying if {@code negate} is {@code true}) a compiled condition.
+	 */
+	private static class ConditionFunction implements PipeFunction<Object, Boolean> {
+
+		private CompiledFunction condition;
+
+		private boolean negate;
+
+		public ConditionFunction(CompiledFunction condition, boolean negate) {
+			this.condition = condition;
+			this.negate = negate;
+		}
+
+		@Override
+		public Boolean compute(Object element) {
+			return Boolean.TRUE.equals(condition.compute(element)) != negate;
+		}
+
+		@Override
+		public String toString() {
+			return negate ? "not " + condition : condition.toString();
+		}
+	}
+
+	private static class NotFunction extends CompiledFunction {
+
+		private CompiledFunction operand;
+
+		public NotFunction(CompiledFunction operand) {
+			super(null);
+			this.operand = operand;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			return !Boolean.TRUE.equals(operand.compute(element));
+		}
+
+		@Override
+		public String toString() {
+			return "not " + operand;
+		}
+	}
+
+	/**
+	 * The binary operators supported by the compiler.
+	 */
+	private enum Operator {
+		AND("and"), OR("or"), XOR("xor"), IMPLIES("implies"), EQUALS("="), NOT_EQUALS("<>"), GREATER_THAN(">"),
+		GREATER_EQUAL(">="), LESS_THAN("<"), LESS_EQUAL("<="), PLUS("+"), MINUS("-"), TIMES("*"), DIV("/");
+
+		/**
+		 * The EOL symbol of the operator.
+		 */
+		private String symbol;
+
+		private Operator(String symbol) {
+			this.symbol = symbol;
+		}
+
+		private static Operator of(OperatorExpression expression) {
+			if (expression instanceof AndOperatorExpression) {
+				return AND;
+			} else if (expression instanceof OrOperatorExpression) {
+				return OR;
+			} else if (expression instanceof XorOperatorExpression) {
+				return XOR;
+			} else if (expression instanceof ImpliesOperatorExpression) {
+				return IMPLIES;
+			} else if (expression instanceof EqualsOperatorExpression
+					|| expression instanceof DoubleEqualsOperatorExpression) {
+				return EQUALS;
+			} else if (expression instanceof NotEqualsOperatorExpression) {
+				return NOT_EQUALS;
+			} else if (expression instanceof GreaterThanOperatorExpression) {
+				return GREATER_THAN;
+			} else if (expression instanceof GreaterEqualOperatorExpression) {
+				return GREATER_EQUAL;
+			} else if (expression instanceof LessThanOperatorExpression) {
+				return LESS_THAN;
+			} else if (expression instanceof LessEqualOperatorExpression) {
+				return LESS_EQUAL;
+			} else if (expression instanceof PlusOperatorExpression) {
+				return PLUS;
+			} else if (expression instanceof MinusOperatorExpression) {
+				return MINUS;
+			} else if (expression instanceof TimesOperatorExpression) {
+				return TIMES;
+			} else if (expression instanceof DivOperatorExpression) {
+				return DIV;
+			}
+			return null;
+		}
+	}
+
+	private static class BooleanFunction extends CompiledFunction {
+
+		private Operator operator;
+
+		private CompiledFunction left;
+
+		private CompiledFunction right;
+
+		public BooleanFunction(Operator operator, CompiledFunction left, CompiledFunction right) {
+			super(null);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			boolean leftValue = Boolean.TRUE.equals(left.compute(element));
+			switch (operator) {
+			case AND:
+				return leftValue && Boolean.TRUE.equals(right.compute(element));
+			case OR:
+				return leftValue || Boolean.TRUE.equals(right.compute(element));
+			case IMPLIES:
+				return !leftValue || Boolean.TRUE.equals(right.compute(element));
+			default:
+				return leftValue != Boolean.TRUE.equals(right.compute(element));
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "(" + left + " " + operator.symbol + " " + right + ")";
+		}
+	}
+
+	private static class ComparisonFunction extends CompiledFunction {
+
+		private Operator operator;
+
+		private CompiledFunction left;
+
+		private CompiledFunction right;
+
+		public ComparisonFunction(Operator operator, CompiledFunction left, CompiledFunction right) {
+			super(null);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object leftValue = left.compute(element);
+			Object rightValue = right.compute(element);
+			switch (operator) {
+			case EQUALS:
+				return areEqual(leftValue, rightValue);
+			case NOT_EQUALS:
+				return !areEqual(leftValue, rightValue);
+			default:
+				Integer comparison = compare(leftValue, rightValue);
+				if (isNull(comparison)) {
+					return false;
+				}
+				switch (operator) {
+				case GREATER_THAN:
+					return comparison > 0;
+				case GREATER_EQUAL:
+					return comparison >= 0;
+				case LESS_THAN:
+					return comparison < 0;
+				default:
+					return comparison <= 0;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "(" + left + " " + operator.symbol + " " + right + ")";
+		}
+
+		/**
+		 * Checks whether the provided values are equal. Vertices are compared with the vertices and the
+		 * {@link PersistentEObject}s they represent by identifier, and numbers are compared by value.
+		 */
+		private static boolean areEqual(Object left, Object right) {
+			if (isNull(left) || isNull(right)) {
+				return isNull(left) && isNull(right);
+			}
+			if (left instanceof Vertex || right instanceof Vertex) {
+				Object leftId = idOf(left);
+				return nonNull(leftId) && leftId.equals(idOf(right));
+			}
+			if (left instanceof Number && right instanceof Number) {
+				return compare(left, right) == 0;
+			}
+			return left.equals(right);
+		}
+
+		private static Object idOf(Object o) {
+			if (o instanceof Vertex) {
+				return ((Vertex) o).getId().toString();
+			} else if (o instanceof PersistentEObject) {
+				return ((PersistentEObject) o).id().toString();
+			}
+			return null;
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private static Integer compare(Object left, Object right) {
+			if (left instanceof Number && right instanceof Number) {
+				if (isFloating(left) || isFloating(right)) {
+					return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+				}
+				return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+			}
+			if (left instanceof Comparable && nonNull(right) && left.getClass().equals(right.getClass())) {
+				return ((Comparable) left).compareTo(right);
+			}
+			return null;
+		}
+	}
+
+	private static class ArithmeticFunction extends CompiledFunction {
+
+		private Operator operator;
+
+		private CompiledFunction left;
+
+		private CompiledFunction right;
+
+		public ArithmeticFunction(Operator operator, CompiledFunction left, CompiledFunction right) {
+			super(null);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object leftValue = left.compute(element);
+			Object rightValue = right.compute(element);
+			if (operator == Operator.PLUS && (leftValue instanceof String || rightValue instanceof String)) {
+				return String.valueOf(leftValue) + String.valueOf(rightValue);
+			}
+			if (!(leftValue instanceof Number) || !(rightValue instanceof Number)) {
+				return null;
+			}
+			Number l = (Number) leftValue;
+			Number r = (Number) rightValue;
+			if (isFloating(l) || isFloating(r)) {
+				double a = l.doubleValue();
+				double b = r.doubleValue();
+				switch (operator) {
+				case PLUS:
+					return a + b;
+				case MINUS:
+					return a - b;
+				case TIMES:
+					return a * b;
+				default:
+					return a / b;
+				}
+			}
+			if (l instanceof Long || r instanceof Long) {
+				long a = l.longValue();
+				long b = r.longValue();
+				switch (operator) {
+				case PLUS:
+					return a + b;
+				case MINUS:
+					return a - b;
+				case TIMES:
+					return a * b;
+				default:
+					return a / b;
+				}
+			}
+			int a = l.intValue();
+			int b = r.intValue();
+			switch (operator) {
+			case PLUS:
+				return a + b;
+			case MINUS:
+				return a - b;
+			case TIMES:
+				return a * b;
+			default:
+				return a / b;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "(" + left + " " + operator.symbol + " " + right + ")";
+		}
+	}
+
+	/**
+	 * Computes a built-in operation on the result of a compiled function.
+	 */
+	private static class OperationFunction extends CompiledFunction {
+
+		/**
+		 * The operations supported by the compiler, and their number of parameters.
+		 */
+		private static final Map<String, Integer> SUPPORTED_OPERATIONS = new HashMap<>();
+
+		static {
+			for (String name : Arrays.asList("isDefined", "isUndefined", "toLowerCase", "toUpperCase", "length",
+					"trim")) {
+				SUPPORTED_OPERATIONS.put(name, 0);
+			}
+			for (String name : Arrays.asList("startsWith", "endsWith")) {
+				SUPPORTED_OPERATIONS.put(name, 1);
+			}
+		}
+
+		private String operationName;
+
+		private CompiledFunction target;
+
+		private CompiledFunction[] parameters;
+
+		public OperationFunction(String operationName, CompiledFunction target, CompiledFunction[] parameters) {
+			super(null);
+			this.operationName = operationName;
+			this.target = target;
+			this.parameters = parameters;
+		}
+
+		@Override
+		public Object compute(Object element) {
+			Object value = target.compute(element);
+			switch (operationName) {
+			case "isDefined":
+				return nonNull(value);
+			case "isUndefined":
+				return isNull(value);
+			default:
+				break;
+			}
+			if (!(value instanceof String)) {
+				return null;
+			}
+			String string = (String) value;
+			switch (operationName) {
+			case "toLowerCase":
+				return string.toLowerCase();
+			case "toUpperCase":
+				return string.toUpperCase();
+			case "length":
+				return string.length();
+			case "trim":
+				return string.trim();
+			default:
+				Object parameter = parameters[0].compute(element);
+				if (!(parameter instanceof String)) {
+					return false;
+				}
+				return "startsWith".equals(operationName) ? string.startsWith((String) parameter)
+						: string.endsWith((String) parameter);
+			}
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			builder.append(target).append('.').append(operationName).append('(');
+			for (int i = 0; i < parameters.length; i++) {
+				builder.append(i == 0 ? "" : ", ").append(parameters[i]);
+			}
+			return builder.append(')').toString();
+		}
+	}
+
+	private static boolean isFloating(Object number) {
+		return number instanceof Double || number instanceof Float;
+	}
+}
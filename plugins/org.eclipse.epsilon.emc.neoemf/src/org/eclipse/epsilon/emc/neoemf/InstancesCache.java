@@ -0,0 +1,164 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * A cache storing the results of the <i>allOfType</i> and <i>allOfKind</i> queries computed by a
+ * {@link NeoEMFModel}.
+ * <p>
+ * The cache stores the identifiers of the returned vertices rather than the reified {@link EObject}s, and is bounded
+ * by a maximum number of stored identifiers. The least recently used results are evicted when this budget is
+ * exceeded. Results are invalidated when an instance of their type is created or deleted (see
+ * {@link #invalidate(EClass)}).
+ */
+public class InstancesCache {
+
+	/**
+	 * The maximum number of vertex identifiers stored in the cache.
+	 */
+	private int capacity;
+
+	/**
+	 * The number of vertex identifiers currently stored in the cache.
+	 */
+	private int size;
+
+	/**
+	 * The cached results, in access order.
+	 */
+	private Map<Key, List<Object>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The number of invalidations of the cache.
+	 */
+	private int modificationCount;
+
+	/**
+	 * Constructs a new {@link InstancesCache} storing at most {@code capacity} vertex identifiers.
+	 *
+	 * @param capacity the maximum number of vertex identifiers stored in the cache
+	 */
+	public InstancesCache(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the maximum number of vertex identifiers stored in the cache.
+	 *
+	 * @return the maximum number of vertex identifiers stored in the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of invalidations of the cache.
+	 * <p>
+	 * This value allows to check that the instances computed by a query have not been invalidated before they are
+	 * cached.
+	 *
+	 * @return the number of invalidations of the cache
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Returns the cached identifiers of the instances of the provided {@code eClass}.
+	 *
+	 * @param eClass the {@link EClass} to retrieve the instances of
+	 * @param kind   {@code true} to retrieve the result of an <i>allOfKind</i> query, {@code false} for an
+	 *               <i>allOfType</i> query
+	 * @return the cached identifiers, or {@code null} if the result is not cached
+	 */
+	public List<Object> get(EClass eClass, boolean kind) {
+		return entries.get(new Key(eClass, kind));
+	}
+
+	/**
+	 * Caches the identifiers of the instances of the provided {@code eClass}, evicting the least recently used
+	 * results if needed.
+	 * <p>
+	 * Results larger than the capacity of the cache are not stored.
+	 *
+	 * @param eClass the {@link EClass} the {@code ids} are the instances of
+	 * @param kind   {@code true} if {@code ids} is the result of an <i>allOfKind</i> query, {@code false} for an
+	 *               <i>allOfType</i> query
+	 * @param ids    the identifiers of the instances to cache
+	 */
+	public void put(EClass eClass, boolean kind, List<Object> ids) {
+		if (ids.size() > capacity) {
+			return;
+		}
+		List<Object> previous = entries.put(new Key(eClass, kind), ids);
+		if (previous != null) {
+			size -= previous.size();
+		}
+		size += ids.size();
+		Iterator<List<Object>> it = entries.values().iterator();
+		while (size > capacity && it.hasNext()) {
+			size -= it.next().size();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Removes the cached results containing instances of the provided {@code eClass}, i.e. its <i>allOfType</i>
+	 * result and the <i>allOfKind</i> results of its super types.
+	 *
+	 * @param eClass the {@link EClass} of a created or deleted instance
+	 */
+	public void invalidate(EClass eClass) {
+		modificationCount++;
+		Iterator<Map.Entry<Key, List<Object>>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Key, List<Object>> entry = it.next();
+			Key key = entry.getKey();
+			if (key.kind ? key.eClass.isSuperTypeOf(eClass) : key.eClass == eClass) {
+				size -= entry.getValue().size();
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all the cached results.
+	 */
+	public void clear() {
+		modificationCount++;
+		entries.clear();
+		size = 0;
+	}
+
+	private static class Key {
+
+		private EClass eClass;
+
+		private boolean kind;
+
+		public Key(EClass eClass, boolean kind) {
+			this.eClass = eClass;
+			this.kind = kind;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return eClass == other.eClass && kind == other.kind;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * eClass.hashCode() + (kind ? 1 : 0);
+		}
+	}
+}
@@ -1,10 +1,19 @@
 package org.eclipse.epsilon.emc.neoemf;
 
 import static java.text.MessageFormat.format;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EPackage.Registry;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 
@@ -71,4 +80,67 @@ public class MetamodelUtils {
 		EStructuralFeature feature = getFeature(classifier, featureName);
 		return feature instanceof EReference;
 	}
+
+	/**
+	 * Returns the concrete {@link EClass}es of the provided {@code ePackages} and their subpackages that are kinds of
+	 * the provided {@code eClass}, including the {@code eClass} itself if it is not abstract.
+	 * 
+	 * @param eClass    the {@link EClass} to retrieve the concrete subclasses of
+	 * @param ePackages the {@link EPackage}s to search
+	 * @return the concrete subclasses of the provided {@code eClass}
+	 */
+	public static Collection<EClass> getConcreteSubclasses(EClass eClass, Collection<EPackage> ePackages) {
+		Set<EClass> subclasses = new LinkedHashSet<>();
+		for (EPackage ePackage : ePackages) {
+			collectConcreteSubclasses(eClass, ePackage, subclasses);
+		}
+		return subclasses;
+	}
+
+	/**
+	 * Returns the {@link EPackage}s of the provided {@code registry} that have already been loaded.
+	 * <p>
+	 * The package descriptors of the registry are not resolved: resolving them may load the classes (and in Eclipse
+	 * the bundles) of all the registered metamodels. The packages of the delegate registry, if any, are not returned.
+	 * 
+	 * @param registry the {@link Registry} to retrieve the packages of
+	 * @return the loaded {@link EPackage}s of the {@code registry}
+	 */
+	public static Collection<EPackage> getLoadedPackages(Registry registry) {
+		List<EPackage> ePackages = new ArrayList<>();
+		for (Object value : registry.values()) {
+			if (value instanceof EPackage) {
+				ePackages.add((EPackage) value);
+			}
+		}
+		return ePackages;
+	}
+
+	/**
+	 * Returns the root {@link EPackage} containing the provided {@code ePackage}.
+	 * 
+	 * @param ePackage the {@link EPackage} to retrieve the root package of
+	 * @return the root {@link EPackage}, or {@code ePackage} itself if it is not a subpackage
+	 */
+	public static EPackage getRootPackage(EPackage ePackage) {
+		EPackage root = ePackage;
+		while (nonNull(root.getESuperPackage())) {
+			root = root.getESuperPackage();
+		}
+		return root;
+	}
+
+	private static void collectConcreteSubclasses(EClass eClass, EPackage ePackage, Set<EClass> subclasses) {
+		for (EClassifier classifier : ePackage.getEClassifiers()) {
+			if (classifier instanceof EClass) {
+				EClass candidate = (EClass) classifier;
+				if (!candidate.isAbstract() && !candidate.isInterface() && eClass.isSuperTypeOf(candidate)) {
+					subclasses.add(candidate);
+				}
+			}
+		}
+		for (EPackage subpackage : ePackage.getESubpackages()) {
+			collectConcreteSubclasses(eClass, subpackage, subclasses);
+		}
+	}
 }
@@ -1,11 +1,23 @@
 package org.eclipse.epsilon.emc.neoemf;
 
+import static java.text.MessageFormat.format;
+
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
@@ -14,36 +26,48 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.epsilon.common.util.StringProperties;
 import org.eclipse.epsilon.emc.emf.AbstractEmfModel;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
 import org.eclipse.epsilon.eol.exceptions.models.EolModelElementTypeNotFoundException;
 import org.eclipse.epsilon.eol.exceptions.models.EolModelLoadingException;
+import org.eclipse.epsilon.eol.exceptions.models.EolNotInstantiableModelElementTypeException;
+import org.eclipse.epsilon.eol.execute.introspection.IPropertyGetter;
+import org.eclipse.epsilon.eol.execute.operations.AbstractOperation;
+import org.eclipse.epsilon.eol.execute.operations.declarative.IAbstractOperationContributor;
+import org.eclipse.epsilon.eol.execute.operations.declarative.IAbstractOperationContributorProvider;
 import org.eclipse.epsilon.eol.models.IRelativePathResolver;
 
+import com.tinkerpop.blueprints.Direction;
 import com.tinkerpop.blueprints.Index;
 import com.tinkerpop.blueprints.KeyIndexableGraph;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.util.wrappers.id.IdGraph;
-import com.tinkerpop.pipes.transform.InEdgesPipe;
-import com.tinkerpop.pipes.transform.OutVertexPipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
 
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
 import fr.inria.atlanmod.neoemf.data.PersistenceBackendFactoryRegistry;
 import fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsPersistenceBackend;
 import fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsPersistenceBackendFactory;
 import fr.inria.atlanmod.neoemf.data.blueprints.neo4j.option.BlueprintsNeo4jOptionsBuilder;
 import fr.inria.atlanmod.neoemf.data.blueprints.neo4j.option.BlueprintsNeo4jResourceOptions;
 import fr.inria.atlanmod.neoemf.data.blueprints.util.BlueprintsURI;
+import fr.inria.atlanmod.neoemf.data.mapdb.MapDbPersistenceBackendFactory;
 import fr.inria.atlanmod.neoemf.data.mapdb.option.MapDbOptionsBuilder;
+import fr.inria.atlanmod.neoemf.data.mapdb.util.MapDbURI;
 import fr.inria.atlanmod.neoemf.option.AbstractPersistenceOptionsBuilder;
 import fr.inria.atlanmod.neoemf.resource.DefaultPersistentResource;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 import fr.inria.atlanmod.neoemf.resource.PersistentResourceFactory;
 import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
 
-public class NeoEMFModel extends AbstractEmfModel {
+public class NeoEMFModel extends AbstractEmfModel implements IAbstractOperationContributorProvider {
 
 	// Core properties
 	public static final String PROPERTY_NEOEMF_PATH = "neoemf.path";
 	public static final String PROPERTY_METAMODEL_URI = "metamodel.uri";
 	public static final String PROPERTY_GREMLIN = "native.gremlin";
+	// logs the description of the native queries when they are executed
+	public static final String PROPERTY_EXPLAIN = "native.gremlin.explain";
 	public static final String PROPERTY_NEOEMF_RESOURCE_TYPE = "neoemf.resource.type";
 	public static final String PROPERTY_AUTOCOMMIT = "neoemf.autocommit";
 	public static final String PROPERTY_AUTOCOMMIT_CHUNK = "neoemf.autocommit.chunk";
@@ -51,14 +75,35 @@ public class NeoEMFModel extends AbstractEmfModel {
 	public static final String PROPERTY_CACHE_ISSET = "neoemf.cache.isset";
 	public static final String PROPERTY_CACHE_ESTRUCTURALFEATURES = "neoemf.cache.estructuralfeatures";
 	public static final String PROPERTY_LOGGING = "neoemf.logging";
+	public static final String PROPERTY_INSTANCES_CACHE_SIZE = "neoemf.cache.instances.size";
+	// reference type (WEAK or SOFT) of the elements reified from the results of native queries
+	public static final String PROPERTY_REIFIED_CACHE_TYPE = "neoemf.cache.reified.type";
+	// number of fetched native query results above which their identifiers are spilled to memory-mapped files
+	public static final String PROPERTY_SPILL_THRESHOLD = "neoemf.cache.spill.threshold";
+
+	// maximum number of vertex identifiers cached for allOfType/allOfKind results
+	public static final int DEFAULT_INSTANCES_CACHE_SIZE = 1000000;
+
+	// 0 disables the spilling of fetched results
+	public static final int DEFAULT_SPILL_THRESHOLD = 1000000;
 
 	// Neo4j properties
 	public static final String PROPERTY_NEO4J_CACHE_TYPE = "neoemf.blueprints.neo4j.cache.type";
+	// comma-separated list of EClass.attribute pairs to create a key index for
+	public static final String PROPERTY_KEY_INDEXES = "neoemf.blueprints.key.indexes";
 
+	// MapDB properties
+	public static final String PROPERTY_MAPDB_STORE_TYPE = "neoemf.mapdb.store.type";
 
-	private String neoemfPath, metamodelURI, resourceType, cacheType;
-	private boolean nativeGremlin, autocommit, cacheSize, cacheIsSet, cacheEStructuralFeatures, logging;
-	private int autocommitChunk;
+	// MapDB store types
+	public static final String MAPDB_STORE_DIRECT_WRITE = "DirectWrite";
+	public static final String MAPDB_STORE_DIRECT_WRITE_LISTS = "DirectWriteLists";
+	public static final String MAPDB_STORE_DIRECT_WRITE_INDICES = "DirectWriteIndices";
+
+
+	private String neoemfPath, metamodelURI, resourceType, cacheType, mapStoreType, keyIndexes, reifiedCacheType;
+	private boolean nativeGremlin, explain, autocommit, cacheSize, cacheIsSet, cacheEStructuralFeatures, logging;
+	private int autocommitChunk, spillThreshold;
 
 	private BlueprintsPersistenceBackend blueprintsBackend;
 
@@ -68,6 +113,18 @@ public class NeoEMFModel extends AbstractEmfModel {
 
 	private Index<Vertex> metaclassIndex;
 
+	private Set<String> indexedKeys = Collections.emptySet();
+
+	private InstancesCache instancesCache = new InstancesCache(DEFAULT_INSTANCES_CACHE_SIZE);
+
+	private Map<EClass, Collection<EClass>> concreteSubclasses = new HashMap<>();
+
+	private VertexReifier reifier;
+
+	private SpilledResultList.Tracker spillTracker = new SpilledResultList.Tracker();
+
+	private NeoEMFPropertyGetter propertyGetter = new NeoEMFPropertyGetter(this);
+
 //	private EPackage metamodel;
 
 	@Override
@@ -77,6 +134,7 @@ public class NeoEMFModel extends AbstractEmfModel {
 		this.neoemfPath = properties.getProperty(PROPERTY_NEOEMF_PATH);
 		this.metamodelURI = properties.getProperty(PROPERTY_METAMODEL_URI);
 		this.nativeGremlin = properties.hasProperty(PROPERTY_GREMLIN);
+		this.explain = properties.hasProperty(PROPERTY_EXPLAIN);
 		this.resourceType = properties.getProperty(PROPERTY_NEOEMF_RESOURCE_TYPE);
 		this.autocommit = properties.hasProperty(PROPERTY_AUTOCOMMIT);
 		if(this.autocommit) {
@@ -86,11 +144,22 @@ public class NeoEMFModel extends AbstractEmfModel {
 		this.cacheIsSet = properties.hasProperty(PROPERTY_CACHE_ISSET);
 		this.cacheEStructuralFeatures = properties.hasProperty(PROPERTY_CACHE_ESTRUCTURALFEATURES);
 		this.logging = properties.hasProperty(PROPERTY_LOGGING);
+		this.instancesCache = new InstancesCache(properties.getIntegerProperty(PROPERTY_INSTANCES_CACHE_SIZE, DEFAULT_INSTANCES_CACHE_SIZE));
+		this.reifiedCacheType = properties.getProperty(PROPERTY_REIFIED_CACHE_TYPE, VertexReifier.CacheType.WEAK.toString());
+		this.spillThreshold = properties.getIntegerProperty(PROPERTY_SPILL_THRESHOLD, DEFAULT_SPILL_THRESHOLD);
 
 		if(this.resourceType.equals("Graph")) {
 			if(properties.hasProperty(PROPERTY_NEO4J_CACHE_TYPE)) {
 				cacheType = properties.getProperty(PROPERTY_NEO4J_CACHE_TYPE);
 			}
+			keyIndexes = properties.getProperty(PROPERTY_KEY_INDEXES, "");
+		}
+		else if(this.resourceType.equals("Map")) {
+			mapStoreType = properties.getProperty(PROPERTY_MAPDB_STORE_TYPE, MAPDB_STORE_DIRECT_WRITE);
+			if(this.nativeGremlin) {
+				NeoLogger.warn("Native Gremlin is not available for Map resources, using the EMF API");
+				this.nativeGremlin = false;
+			}
 		}
 //		loadMetamodel();
 		load();
@@ -108,13 +177,19 @@ public class NeoEMFModel extends AbstractEmfModel {
 		return blueprintsBackend;
 	}
 
+	@Override
+	public IPropertyGetter getPropertyGetter() {
+		// read the features of the persisted elements directly from their vertices
+		return propertyGetter;
+	}
+
 	@Override
 	protected void loadModel() throws EolModelLoadingException {
 		// Each model is loaded in a dedicated ResourceSet
 		// TODO see if we can use a CachedResourceSet
 		rSet = new ResourceSetImpl();
 
-		AbstractPersistenceOptionsBuilder builder = null;
+		AbstractPersistenceOptionsBuilder<?, ?> builder = null;
 		if(resourceType.equals("Graph")) {
 			builder = BlueprintsNeo4jOptionsBuilder.newBuilder();
 		}
@@ -161,8 +236,24 @@ public class NeoEMFModel extends AbstractEmfModel {
 				neoBuilder.weakCache();
 			}
 		}
-		if(resourceType.equals("Map")) {
-			throw new UnsupportedOperationException("NeoEMF EMC does not support Map backend for now");
+		else if(resourceType.equals("Map")) {
+			MapDbOptionsBuilder mapBuilder = (MapDbOptionsBuilder)builder;
+			if(!PersistenceBackendFactoryRegistry.isRegistered(MapDbURI.SCHEME)) {
+				PersistenceBackendFactoryRegistry.register(MapDbURI.SCHEME, MapDbPersistenceBackendFactory.getInstance());
+			}
+			rSet.getResourceFactoryRegistry().getProtocolToFactoryMap().put(MapDbURI.SCHEME, PersistentResourceFactory.getInstance());
+			this.modelImpl = rSet.createResource(MapDbURI.createFileURI(new File(neoemfPath)));
+
+			// set map-specific options
+			if(autocommit) {
+				mapBuilder.autocommit();
+			} else if(mapStoreType.equals(MAPDB_STORE_DIRECT_WRITE_LISTS)) {
+				mapBuilder.directWriteLists();
+			} else if(mapStoreType.equals(MAPDB_STORE_DIRECT_WRITE_INDICES)) {
+				mapBuilder.directWriteIndices();
+			} else {
+				mapBuilder.directWrite();
+			}
 		}
 		try {
 			this.modelImpl.load(builder.asMap());
@@ -173,6 +264,10 @@ public class NeoEMFModel extends AbstractEmfModel {
 	}
 
 	public void initBackend() {
+		if(!resourceType.equals("Graph")) {
+			// the other backends do not provide a graph, native features are disabled
+			return;
+		}
 		Field backendField;
 		try {
 			backendField = modelImpl.getClass().getDeclaredField("backend");
@@ -183,6 +278,158 @@ public class NeoEMFModel extends AbstractEmfModel {
 		}
 		graph = blueprintsBackend.getGraph();
 		metaclassIndex = graph.getIndex("metaclasses", Vertex.class);
+		VertexReifier.CacheType reifiedType = VertexReifier.CacheType.WEAK;
+		try {
+			reifiedType = VertexReifier.CacheType.valueOf(reifiedCacheType);
+		} catch(IllegalArgumentException | NullPointerException e) {
+			NeoLogger.warn(format("Invalid reified cache type {0}, using {1}", reifiedCacheType, reifiedType));
+		}
+		reifier = new VertexReifier(blueprintsBackend, reifiedType);
+		initKeyIndexes();
+	}
+
+	/**
+	 * Creates the key indexes listed in the {@link #PROPERTY_KEY_INDEXES} property if they do not exist.
+	 * <p>
+	 * Blueprints key indexes are defined on a property key, and index the vertices of all the types defining an
+	 * attribute with the same name. The existing indexes are reused by the equality filters computed on the instances
+	 * of any type (see {@link #getIndexedInstances(Collection, String, Object)}).
+	 */
+	private void initKeyIndexes() {
+		indexedKeys = new HashSet<>(graph.getIndexedKeys(Vertex.class));
+		if(keyIndexes == null) {
+			return;
+		}
+		for(String keyIndex : keyIndexes.split(",")) {
+			keyIndex = keyIndex.trim();
+			if(keyIndex.isEmpty()) {
+				continue;
+			}
+			int separator = keyIndex.lastIndexOf('.');
+			if(separator == -1) {
+				NeoLogger.warn(format("Invalid key index {0}, expected EClass.attribute", keyIndex));
+				continue;
+			}
+			String attributeName = keyIndex.substring(separator + 1);
+			try {
+				EClass eClass = classForName(keyIndex.substring(0, separator));
+				if(!(eClass.getEStructuralFeature(attributeName) instanceof EAttribute)) {
+					NeoLogger.warn(format("{0} does not define an attribute {1}, cannot index it", eClass.getName(), attributeName));
+					continue;
+				}
+			} catch(EolModelElementTypeNotFoundException e) {
+				NeoLogger.warn(format("Cannot find the type of the key index {0}", keyIndex));
+				continue;
+			}
+			if(!indexedKeys.contains(attributeName)) {
+				NeoLogger.info(format("Creating key index on {0}", attributeName));
+				graph.createKeyIndex(attributeName, Vertex.class);
+				graph.commit();
+				indexedKeys.add(attributeName);
+			}
+		}
+	}
+
+	/**
+	 * Reifies the provided pipeline result into a {@link PersistentEObject} if it is a vertex.
+	 * 
+	 * @param o the pipeline result to reify
+	 * @return the reified {@link PersistentEObject} if {@code o} is a vertex, {@code o} otherwise
+	 * @see VertexReifier#reify(Object)
+	 */
+	public Object reify(Object o) {
+		return reifier.reify(o);
+	}
+
+	/**
+	 * Reifies the vertex with the provided {@code id} into a {@link PersistentEObject}.
+	 * 
+	 * @param id the identifier of the vertex to reify
+	 * @param eClass the {@link EClass} of the vertex, or {@code null} if it is unknown
+	 * @return the reified {@link PersistentEObject}, or {@code null} if the vertex does not exist
+	 * @see VertexReifier#reifyId(Object, EClass)
+	 */
+	public PersistentEObject reifyId(Object id, EClass eClass) {
+		return reifier.reifyId(id, eClass);
+	}
+
+	/**
+	 * Reifies in place the vertices contained in the provided pipeline {@code results}.
+	 * 
+	 * @param results the pipeline results to reify
+	 * @param eClass the {@link EClass} of the vertices in {@code results}, or {@code null} if it is unknown
+	 * @see VertexReifier#reifyAll(List, EClass)
+	 */
+	public void reifyAll(List<Object> results, EClass eClass) {
+		reifier.reifyAll(results, eClass);
+	}
+
+	/**
+	 * Returns the number of fetched pipeline results above which their identifiers are spilled to memory-mapped files
+	 * (see {@link SpilledResultList}).
+	 * 
+	 * @return the spill threshold, or {@code 0} if the results are never spilled
+	 */
+	public int getSpillThreshold() {
+		return spillThreshold;
+	}
+
+	/**
+	 * Returns the {@link SpilledResultList.Tracker} deleting the spill files of the pipeline results of this model.
+	 * <p>
+	 * The spilled results are released when the model caches are cleared or when the model is disposed.
+	 * 
+	 * @return the spill tracker of the model
+	 */
+	public SpilledResultList.Tracker getSpillTracker() {
+		return spillTracker;
+	}
+
+	/**
+	 * Returns whether the vertex property {@code key} is indexed by a key index.
+	 * 
+	 * @param key the property key to check
+	 * @return {@code true} if the property is indexed, {@code false} otherwise
+	 */
+	public boolean isKeyIndexed(String key) {
+		return indexedKeys.contains(key);
+	}
+
+	/**
+	 * Returns the instances of the provided {@code metaclasses} whose property {@code key} is equal to the provided
+	 * {@code value}, using the key index defined on {@code key}.
+	 * <p>
+	 * The returned {@link Iterable} queries the index each time it is iterated, and filters the index hits that are
+	 * not instances of the {@code metaclasses}.
+	 * 
+	 * @param metaclasses the {@link EClass}es to retrieve the instances of
+	 * @param key the indexed property key
+	 * @param value the serialized value of the property
+	 * @return the matching vertices
+	 * @see #isKeyIndexed(String)
+	 */
+	public Iterable<Vertex> getIndexedInstances(Collection<EClass> metaclasses, final String key, final Object value) {
+		final Set<Object> metaclassIds = new HashSet<>();
+		for(Vertex metaclassVertex : getMetaclassVertices(metaclasses)) {
+			metaclassIds.add(metaclassVertex.getId());
+		}
+		final PipeFunction<Vertex, Boolean> instanceOf = new PipeFunction<Vertex, Boolean>() {
+			@Override
+			public Boolean compute(Vertex vertex) {
+				for(Vertex metaclassVertex : vertex.getVertices(Direction.OUT, "kyanosInstanceOf")) {
+					return metaclassIds.contains(metaclassVertex.getId());
+				}
+				return false;
+			}
+		};
+		return new Iterable<Vertex>() {
+			@Override
+			public Iterator<Vertex> iterator() {
+				FilterFunctionPipe<Vertex> pipe = new FilterFunctionPipe<>(instanceOf);
+				pipe.setStarts(graph.getVertices(key, value));
+				return pipe;
+			}
+		};
 	}
 
 	// required to configure the model without loading the resource
@@ -195,6 +442,21 @@ public class NeoEMFModel extends AbstractEmfModel {
 		this.nativeGremlin = gremlin;
 	}
 
+	/**
+	 * Returns whether the description of the native queries is logged when they are executed (see
+	 * {@link GremlinPipelineListWrapper#explain()}).
+	 * 
+	 * @return {@code true} if the native queries are explained, {@code false} otherwise
+	 */
+	public boolean isExplainEnabled() {
+		return explain;
+	}
+
+	// required to configure the model without loading the resource
+	public void setExplainEnabled(boolean explain) {
+		this.explain = explain;
+	}
+
 	@Override
 	protected Registry getPackageRegistry() {
 	  // Use the local registry if it exists, fallback on global if not
@@ -219,6 +481,11 @@ public class NeoEMFModel extends AbstractEmfModel {
 
 	@Override
 	public void disposeModel() {
+		instancesCache.clear();
+		if(reifier != null) {
+			reifier.clear();
+		}
+		spillTracker.closeAll();
 		((DefaultPersistentResource)getNeoEMFResource()).close();
 		super.disposeModel();
 	}
@@ -235,11 +502,51 @@ public class NeoEMFModel extends AbstractEmfModel {
 		return super.owns(instance);
 	}
 
+	/**
+	 * Provides the Gremlin implementations of the first-order operations computed on single elements of the model.
+	 * <p>
+	 * Only the <i>closure</i> operation is provided, for elements persisted in the model's graph when native Gremlin
+	 * is enabled (see {@link GremlinPipelineClosureOperation}).
+	 */
+	@Override
+	public IAbstractOperationContributor getAbstractOperationContributor(Object target) {
+		if(!nativeGremlin || blueprintsBackend == null || !(target instanceof PersistentEObject)) {
+			return null;
+		}
+		PersistentEObject persistentEObject = (PersistentEObject) target;
+		if(!persistentEObject.isMapped() || persistentEObject.resource() != modelImpl) {
+			// elements that are not attached to the resource are stored in memory
+			return null;
+		}
+		return new IAbstractOperationContributor() {
+			@Override
+			public AbstractOperation getAbstractOperation(String name) {
+				if("closure".equals(name)) {
+					return new GremlinPipelineClosureOperation();
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Creates a {@link GremlinPipelineListWrapper} starting from the vertex of the provided {@code object}.
+	 * 
+	 * @param object the element to start the traversal from
+	 * @return the created {@link GremlinPipelineListWrapper}
+	 */
+	public GremlinPipelineListWrapper pipelineOf(PersistentEObject object) {
+		Vertex vertex = blueprintsBackend.getVertex(object.id());
+		return GremlinPipelineListWrapper.pipelineOf(this, Collections.singletonList(vertex), object.eClass());
+	}
+
 	@Override
 	protected Collection<EObject> getAllOfTypeFromModel(String type) throws EolModelElementTypeNotFoundException {
 		NeoLogger.info("Computing allOfType");
 		if(nativeGremlin) {
 			return getAllOfTypeFromModelGremlin(type);
+		} else if(resourceType.equals("Map")) {
+			return getAllInstancesFromResource(type, true);
 		} else {
 			return super.getAllOfTypeFromModel(type);
 		}
@@ -250,19 +557,237 @@ public class NeoEMFModel extends AbstractEmfModel {
 			NeoLogger.info("Using Gremlin native connector to compute allOfType");
 //			EClassifier typeClassifier = metamodel.getEClassifier(type);
 			EClass typeClass = classForName(type);
-			Iterable<Vertex> metaclass = metaclassIndex.get("name", type);
-			GremlinPipelineListWrapper pipeline = GremlinPipelineListWrapper.pipelineOf(this, metaclass, typeClass);
-			pipeline.getPipeline().add(new InEdgesPipe("kyanosInstanceOf"));
-			pipeline.getPipeline().add(new OutVertexPipe());
-			return pipeline;
+			return elementsOf(getInstancesPipeline(Collections.singleton(typeClass), typeClass, false));
 		}
 		return super.getAllOfTypeFromModel(type);
 	}
 
 	@Override
 	protected Collection<EObject> getAllOfKindFromModel(String kind) throws EolModelElementTypeNotFoundException {
-		NeoLogger.info("AllOfKind not supported, computing AllOfType");
-		return getAllOfTypeFromModel(kind);
+		NeoLogger.info("Computing allOfKind");
+		if(nativeGremlin) {
+			return getAllOfKindFromModelGremlin(kind);
+		} else if(resourceType.equals("Map")) {
+			return getAllInstancesFromResource(kind, false);
+		} else {
+			return super.getAllOfKindFromModel(kind);
+		}
+	}
+
+	private Collection<EObject> getAllOfKindFromModelGremlin(String kind) throws EolModelElementTypeNotFoundException {
+		if(modelImpl instanceof PersistentResource) {
+			NeoLogger.info("Using Gremlin native connector to compute allOfKind");
+			EClass kindClass = classForName(kind);
+			return elementsOf(getInstancesPipeline(getConcreteSubclasses(kindClass), kindClass, true));
+		}
+		return super.getAllOfKindFromModel(kind);
+	}
+
+	/**
+	 * Returns the concrete subclasses of the provided {@code kindClass}, including itself if it is not abstract.
+	 * <p>
+	 * The subclasses are searched in the package of the {@code kindClass}, and in the packages of the resource set and
+	 * of the global registry that are already loaded (see {@link MetamodelUtils#getLoadedPackages(Registry)}). The
+	 * result is computed once for each {@link EClass}.
+	 * 
+	 * @param kindClass the {@link EClass} to retrieve the concrete subclasses of
+	 * @return the concrete subclasses of the provided {@code kindClass}
+	 */
+	private Collection<EClass> getConcreteSubclasses(EClass kindClass) {
+		Collection<EClass> subclasses = concreteSubclasses.get(kindClass);
+		if(subclasses == null) {
+			Set<EPackage> ePackages = new LinkedHashSet<>();
+			ePackages.add(MetamodelUtils.getRootPackage(kindClass.getEPackage()));
+			Registry registry = getPackageRegistry();
+			ePackages.addAll(MetamodelUtils.getLoadedPackages(registry));
+			if(registry != EPackage.Registry.INSTANCE) {
+				// the local registry does not list the packages of its delegate registry
+				ePackages.addAll(MetamodelUtils.getLoadedPackages(EPackage.Registry.INSTANCE));
+			}
+			subclasses = MetamodelUtils.getConcreteSubclasses(kindClass, ePackages);
+			concreteSubclasses.put(kindClass, subclasses);
+		}
+		return subclasses;
+	}
+
+	/**
+	 * Retrieves the instances of the provided {@code type} from the instance-of index of the backend (see
+	 * {@link PersistentResource#getAllInstances(EClass, boolean)}).
+	 * <p>
+	 * The regular EMF implementation is used if the backend cannot compute the instances.
+	 * 
+	 * @param type the name of the type to retrieve the instances of
+	 * @param strict {@code true} to retrieve the direct instances only, {@code false} to include the instances of the
+	 * subclasses
+	 * @return the instances of the provided {@code type}
+	 * @throws EolModelElementTypeNotFoundException if the provided {@code type} does not exist
+	 */
+	private Collection<EObject> getAllInstancesFromResource(String type, boolean strict) throws EolModelElementTypeNotFoundException {
+		EClass eClass = classForName(type);
+		try {
+			return getNeoEMFResource().getAllInstances(eClass, strict);
+		} catch(UnsupportedOperationException e) {
+			NeoLogger.info(format("The backend cannot compute the instances of {0}, using the EMF API", type));
+			return strict ? super.getAllOfTypeFromModel(type) : super.getAllOfKindFromModel(type);
+		}
+	}
+
+	/**
+	 * Creates a {@link GremlinPipelineListWrapper} returning the direct instances of the provided
+	 * {@code metaclasses}.
+	 * <p>
+	 * The identifiers of the returned vertices are cached (see {@link InstancesCache}). If the result is not cached
+	 * the vertices representing the {@code metaclasses} are retrieved from the metaclass index, and their
+	 * {@code kyanosInstanceOf} in-edges are navigated in a single pipeline. The pipeline is not computed by this
+	 * method, the identifiers are cached when its results are first iterated (see
+	 * {@link GremlinPipelineListWrapper#setInstancesCache(InstancesCache, boolean)}).
+	 * 
+	 * @param metaclasses the {@link EClass}es to retrieve the instances of
+	 * @param endClassifier the {@link EClass} representing the type of the returned elements
+	 * @param kind {@code true} if the pipeline computes an allOfKind query, {@code false} for an allOfType query
+	 * @return the created {@link GremlinPipelineListWrapper}
+	 */
+	private GremlinPipelineListWrapper getInstancesPipeline(Collection<EClass> metaclasses, EClass endClassifier, boolean kind) {
+		List<Object> ids = instancesCache.get(endClassifier, kind);
+		if(ids != null) {
+			NeoLogger.info(format("Retrieving {0} instances of {1} from the cache", ids.size(), endClassifier.getName()));
+			return instancesOf(metaclasses, ids, endClassifier);
+		}
+		GremlinPipelineListWrapper pipeline = GremlinPipelineListWrapper.pipelineOf(this, getMetaclassVertices(metaclasses), endClassifier);
+		pipeline.addStep(GremlinPipelineStep.inEdges("kyanosInstanceOf"));
+		pipeline.addStep(GremlinPipelineStep.outVertex());
+		pipeline.setInstancesOf(metaclasses);
+		if(instancesCache.getCapacity() > 0) {
+			pipeline.setInstancesCache(instancesCache, kind);
+		}
+		return pipeline;
+	}
+
+	/**
+	 * Returns the provided {@code pipeline} returning the instances of a metaclass as a {@link Collection} of
+	 * {@link EObject}s.
+	 * <p>
+	 * The results of a {@link GremlinPipelineListWrapper} are typed as {@link Object}s, other pipelines may return
+	 * literals.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Collection<EObject> elementsOf(GremlinPipelineListWrapper pipeline) {
+		return (Collection<EObject>) (Collection<?>) pipeline;
+	}
+
+	/**
+	 * Returns the vertices representing the provided {@code metaclasses} in the metaclass index.
+	 */
+	private List<Vertex> getMetaclassVertices(Collection<EClass> metaclasses) {
+		// index hits can only be iterated once, copy them to allow multiple executions of the pipeline
+		List<Vertex> metaclassVertices = new ArrayList<>();
+		for (EClass metaclass : metaclasses) {
+			for (Vertex v : metaclassIndex.get("name", metaclass.getName())) {
+				metaclassVertices.add(v);
+			}
+		}
+		return metaclassVertices;
+	}
+
+	/**
+	 * Creates a {@link GremlinPipelineListWrapper} returning the cached instances of the provided {@code metaclasses}.
+	 */
+	private GremlinPipelineListWrapper instancesOf(Collection<EClass> metaclasses, List<Object> ids, EClass endClassifier) {
+		GremlinPipelineListWrapper pipeline = GremlinPipelineListWrapper.pipelineOf(this, verticesOf(ids), endClassifier);
+		pipeline.setInstancesOf(metaclasses);
+		return pipeline;
+	}
+
+	/**
+	 * Returns an {@link Iterable} retrieving the vertices associated to the provided {@code ids}.
+	 * <p>
+	 * The identifiers of the vertices that do not exist anymore are skipped.
+	 */
+	private Iterable<Vertex> verticesOf(final List<Object> ids) {
+		return new Iterable<Vertex>() {
+			@Override
+			public Iterator<Vertex> iterator() {
+				final Iterator<Object> it = ids.iterator();
+				return new Iterator<Vertex>() {
+					private Vertex next;
+
+					@Override
+					public boolean hasNext() {
+						while(next == null && it.hasNext()) {
+							next = graph.getVertex(it.next());
+						}
+						return next != null;
+					}
+
+					@Override
+					public Vertex next() {
+						if(!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						Vertex vertex = next;
+						next = null;
+						return vertex;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	protected EObject createInstanceInModel(String type) throws EolModelElementTypeNotFoundException, EolNotInstantiableModelElementTypeException {
+		EObject instance = super.createInstanceInModel(type);
+		instancesCache.invalidate(instance.eClass());
+		return instance;
+	}
+
+	@Override
+	protected boolean deleteElementInModel(Object instance) throws EolRuntimeException {
+		if(instance instanceof EObject) {
+			// the contents of the element are deleted with it
+			Set<EClass> deletedTypes = new HashSet<>();
+			deletedTypes.add(((EObject)instance).eClass());
+			invalidateReified((EObject)instance);
+			for(Iterator<EObject> it = ((EObject)instance).eAllContents(); it.hasNext();) {
+				EObject content = it.next();
+				deletedTypes.add(content.eClass());
+				invalidateReified(content);
+			}
+			for(EClass deletedType : deletedTypes) {
+				instancesCache.invalidate(deletedType);
+			}
+		}
+		return super.deleteElementInModel(instance);
+	}
+
+	/**
+	 * Removes the reified element representing the provided {@code element} from the {@link VertexReifier} cache.
+	 */
+	private void invalidateReified(EObject element) {
+		if(reifier != null && element instanceof PersistentEObject) {
+			reifier.invalidate(((PersistentEObject)element).id().toString());
+		}
+	}
+
+	@Override
+	public void clearCache() {
+		super.clearCache();
+		if(concreteSubclasses != null) {
+			concreteSubclasses.clear();
+		}
+		if(instancesCache != null) {
+			instancesCache.clear();
+		}
+		if(reifier != null) {
+			reifier.clear();
+		}
+		if(spillTracker != null) {
+			spillTracker.closeAll();
+		}
 	}
 
 }
@@ -0,0 +1,96 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.util.Objects.isNull;
+
+import java.util.Iterator;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.epsilon.emc.emf.EmfPropertyGetter;
+import org.eclipse.epsilon.eol.exceptions.EolRuntimeException;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Vertex;
+
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+
+/**
+ * An {@link EmfPropertyGetter} reading the features of the elements of a {@link NeoEMFModel} directly from their
+ * vertices.
+ * <p>
+ * Single-valued attributes are read from the vertex properties, and single-valued references are resolved with a
+ * single edge lookup, without going through the {@link PersistentEObject}'s store. Other features (many-valued,
+ * derived, transient, or container features), and elements that are not persisted in the model's graph are handled
+ * by the regular EMF implementation.
+ */
+public class NeoEMFPropertyGetter extends EmfPropertyGetter {
+
+	private NeoEMFModel model;
+
+	/**
+	 * Constructs a new {@link NeoEMFPropertyGetter} reading the elements of the provided {@code model}.
+	 *
+	 * @param model the {@link NeoEMFModel} containing the elements to read
+	 */
+	public NeoEMFPropertyGetter(NeoEMFModel model) {
+		this.model = model;
+	}
+
+	@Override
+	public Object invoke(Object object, String property) throws EolRuntimeException {
+		if (object instanceof PersistentEObject && isNativelyReadable((PersistentEObject) object)) {
+			PersistentEObject persistentEObject = (PersistentEObject) object;
+			EStructuralFeature feature = persistentEObject.eClass().getEStructuralFeature(property);
+			if (isNativelyReadable(feature)) {
+				Vertex vertex = model.getBackend().getVertex(persistentEObject.id());
+				if (!isNull(vertex)) {
+					if (feature instanceof EAttribute) {
+						return getAttribute(vertex, (EAttribute) feature);
+					} else {
+						return getReference(vertex, (EReference) feature);
+					}
+				}
+			}
+		}
+		return super.invoke(object, property);
+	}
+
+	private Object getAttribute(Vertex vertex, EAttribute attribute) {
+		Object property = vertex.getProperty(attribute.getName());
+		if (isNull(property)) {
+			return attribute.getDefaultValue();
+		}
+		return EcoreUtil.createFromString(attribute.getEAttributeType(), property.toString());
+	}
+
+	private Object getReference(Vertex vertex, EReference reference) {
+		Iterator<Vertex> referenced = vertex.getVertices(Direction.OUT, reference.getName()).iterator();
+		if (referenced.hasNext()) {
+			return model.reify(referenced.next());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the provided {@code object} is persisted in the graph of the model.
+	 * <p>
+	 * Elements that are not attached to the model's resource are stored in memory, and their features cannot be
+	 * read from the graph.
+	 */
+	private boolean isNativelyReadable(PersistentEObject object) {
+		return model.getBackend() != null && object.isMapped() && object.resource() == model.getResource();
+	}
+
+	/**
+	 * Returns whether the provided {@code feature} is stored in the vertex representing its owner.
+	 */
+	private boolean isNativelyReadable(EStructuralFeature feature) {
+		if (isNull(feature) || feature.isMany() || feature.isDerived() || feature.isTransient()
+				|| feature.isVolatile()) {
+			return false;
+		}
+		return !(feature instanceof EReference) || !((EReference) feature).isContainer();
+	}
+}
@@ -0,0 +1,356 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+
+import com.carrotsearch.hppc.ByteArrayList;
+import com.carrotsearch.hppc.CharArrayList;
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.FloatArrayList;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.ShortArrayList;
+
+/**
+ * A read-only {@link java.util.List} view on the fetched results of a pipeline returning primitive values.
+ * <p>
+ * The values are stored unboxed in a primitive array list, and are boxed when they are accessed. The results of a
+ * pipeline can be stored in a {@link PrimitiveResultList} if its end classifier is an {@link EDataType} whose instance
+ * class is a primitive type or its wrapper (see {@link #create(EClassifier)}). Values that cannot be stored (e.g.
+ * {@code null}) are rejected by {@link #accepts(Object)}, in which case the results must be copied into a regular
+ * {@link java.util.List}.
+ */
+public abstract class PrimitiveResultList extends AbstractList<Object> {
+
+	/**
+	 * Creates an empty {@link PrimitiveResultList} storing the values of the provided {@code classifier}.
+	 *
+	 * @param classifier the end classifier of the pipeline to store the results of
+	 * @return the created {@link PrimitiveResultList}, or {@code null} if the values of the {@code classifier} are not
+	 *         primitive values
+	 */
+	public static PrimitiveResultList create(EClassifier classifier) {
+		if (!(classifier instanceof EDataType)) {
+			return null;
+		}
+		Class<?> instanceClass = classifier.getInstanceClass();
+		if (instanceClass == int.class || instanceClass == Integer.class) {
+			return new IntResultList();
+		} else if (instanceClass == long.class || instanceClass == Long.class) {
+			return new LongResultList();
+		} else if (instanceClass == double.class || instanceClass == Double.class) {
+			return new DoubleResultList();
+		} else if (instanceClass == float.class || instanceClass == Float.class) {
+			return new FloatResultList();
+		} else if (instanceClass == short.class || instanceClass == Short.class) {
+			return new ShortResultList();
+		} else if (instanceClass == byte.class || instanceClass == Byte.class) {
+			return new ByteResultList();
+		} else if (instanceClass == char.class || instanceClass == Character.class) {
+			return new CharResultList();
+		} else if (instanceClass == boolean.class || instanceClass == Boolean.class) {
+			return new BooleanResultList();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the provided {@code value} can be stored in this list.
+	 *
+	 * @param value the value to check
+	 * @return {@code true} if the {@code value} is a boxed value of the stored primitive type, {@code false} otherwise
+	 */
+	public abstract boolean accepts(Object value);
+
+	/**
+	 * Appends the provided {@code value} to this list.
+	 * <p>
+	 * This method is only used to fill the list, the returned view is read-only.
+	 *
+	 * @param value the value to append, see {@link #accepts(Object)}
+	 * @return {@code true}
+	 * @throws ClassCastException if the {@code value} cannot be stored in this list
+	 */
+	@Override
+	public abstract boolean add(Object value);
+
+	/**
+	 * Releases the unused capacity of the underlying buffer once the list has been filled.
+	 */
+	public abstract void trimToSize();
+
+	/**
+	 * Checks that the provided {@code index} is in the bounds of the list.
+	 * <p>
+	 * The hppc lists only check their bounds with assertions, and may return values beyond their size.
+	 */
+	protected void checkIndex(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+	}
+
+	private static class IntResultList extends PrimitiveResultList {
+
+		private IntArrayList values = new IntArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Integer;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Integer) value).intValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class LongResultList extends PrimitiveResultList {
+
+		private LongArrayList values = new LongArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Long;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Long) value).longValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class DoubleResultList extends PrimitiveResultList {
+
+		private DoubleArrayList values = new DoubleArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Double;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Double) value).doubleValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class FloatResultList extends PrimitiveResultList {
+
+		private FloatArrayList values = new FloatArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Float;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Float) value).floatValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class ShortResultList extends PrimitiveResultList {
+
+		private ShortArrayList values = new ShortArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Short;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Short) value).shortValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class ByteResultList extends PrimitiveResultList {
+
+		private ByteArrayList values = new ByteArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Byte;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Byte) value).byteValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	private static class CharResultList extends PrimitiveResultList {
+
+		private CharArrayList values = new CharArrayList();
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Character;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.add(((Character) value).charValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public void trimToSize() {
+			values.trimToSize();
+		}
+	}
+
+	/**
+	 * Stores booleans as bits, hppc does not provide a boolean array list.
+	 */
+	private static class BooleanResultList extends PrimitiveResultList {
+
+		private BitSet values = new BitSet();
+
+		private int size;
+
+		@Override
+		public boolean accepts(Object value) {
+			return value instanceof Boolean;
+		}
+
+		@Override
+		public boolean add(Object value) {
+			values.set(size++, ((Boolean) value).booleanValue());
+			return true;
+		}
+
+		@Override
+		public Object get(int index) {
+			checkIndex(index);
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void trimToSize() {
+			// the bit set is sized by its highest set bit
+		}
+	}
+}
@@ -0,0 +1,418 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.text.MessageFormat.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EClass;
+
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.util.logging.NeoLogger;
+
+/**
+ * A read-only {@link List} view on the fetched results of a pipeline, storing the identifiers of the returned vertices
+ * in memory-mapped temporary files.
+ * <p>
+ * The results of a pipeline are spilled into a {@link SpilledResultList} when their number exceeds the threshold
+ * defined by {@link NeoEMFModel#PROPERTY_SPILL_THRESHOLD}, allowing to iterate them multiple times without keeping
+ * the reified elements in the heap. The elements are reified when they are accessed (see
+ * {@link NeoEMFModel#reifyId(Object, EClass)}), and position lookups compare identifiers without reifying them.
+ * <p>
+ * NeoEMF identifiers are strings: each identifier is stored in a data file as its UTF-8 encoding prefixed by its
+ * length, and the position of each entry is stored in an index file. Both files are mapped by segments allocated when
+ * the list grows.
+ * <p>
+ * The files of the lists created for a model are tracked by its {@link Tracker}: they are deleted when the list is
+ * closed, when it is garbage collected, or when the model caches are cleared.
+ */
+public class SpilledResultList extends AbstractList<Object> implements Closeable {
+
+	/**
+	 * The size of the mapped segments of the spill files.
+	 */
+	private static final int SEGMENT_SIZE = 1 << 26;
+
+	/**
+	 * The length stored for {@code null} results.
+	 */
+	private static final short NULL_LENGTH = -1;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * The model reifying the stored identifiers.
+	 */
+	private NeoEMFModel model;
+
+	/**
+	 * The {@link EClass} of all the stored elements, or {@code null} if it is unknown.
+	 */
+	private EClass eClass;
+
+	/**
+	 * The identifiers of the results.
+	 */
+	private MappedFile data;
+
+	/**
+	 * The positions of the identifiers in {@link #data}.
+	 */
+	private MappedFile index;
+
+	/**
+	 * The position of the next identifier in {@link #data}.
+	 */
+	private long dataPosition;
+
+	private int size;
+
+	private boolean closed;
+
+	/**
+	 * Constructs a new {@link SpilledResultList} storing its identifiers in temporary files.
+	 *
+	 * @param model  the {@link NeoEMFModel} reifying the stored identifiers
+	 * @param eClass the {@link EClass} of all the stored elements, or {@code null} if it is unknown
+	 * @throws IOException if an error occurred when creating the temporary files
+	 */
+	public SpilledResultList(NeoEMFModel model, EClass eClass) throws IOException {
+		this.model = model;
+		this.eClass = eClass;
+		this.data = new MappedFile("neoemf-spill-data");
+		try {
+			this.index = new MappedFile("neoemf-spill-index");
+		} catch (IOException e) {
+			data.close();
+			throw e;
+		}
+		model.getSpillTracker().track(this);
+	}
+
+	/**
+	 * Returns whether the provided pipeline {@code result} can be stored in this list.
+	 *
+	 * @param result the pipeline result to check
+	 * @return {@code true} if the {@code result} is a vertex, a {@link PersistentEObject}, or {@code null},
+	 *         {@code false} otherwise
+	 */
+	public boolean accepts(Object result) {
+		return isNull(result) || result instanceof Vertex || result instanceof PersistentEObject;
+	}
+
+	/**
+	 * Appends the identifier of the provided pipeline {@code result} to this list.
+	 * <p>
+	 * This method is only used to fill the list, the returned view is read-only.
+	 *
+	 * @param result the pipeline result to append, see {@link #accepts(Object)}
+	 * @return {@code true}
+	 * @throws IllegalArgumentException if the {@code result} cannot be stored in this list
+	 * @throws IllegalStateException    if an error occurred when growing the spill files
+	 */
+	@Override
+	public boolean add(Object result) {
+		byte[] id = isNull(result) ? null : idOf(result).getBytes(UTF8);
+		int length = isNull(id) ? 0 : id.length;
+		if (dataPosition % SEGMENT_SIZE + 2 + length > SEGMENT_SIZE) {
+			// entries do not span multiple segments
+			dataPosition += SEGMENT_SIZE - dataPosition % SEGMENT_SIZE;
+		}
+		try {
+			MappedByteBuffer segment = data.segment(dataPosition);
+			int offset = (int) (dataPosition % SEGMENT_SIZE);
+			segment.putShort(offset, isNull(id) ? NULL_LENGTH : (short) length);
+			for (int i = 0; i < length; i++) {
+				segment.put(offset + 2 + i, id[i]);
+			}
+			long indexPosition = (long) size * 8;
+			index.segment(indexPosition).putLong((int) (indexPosition % SEGMENT_SIZE), dataPosition);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot spill the pipeline results, see attached exception", e);
+		}
+		dataPosition += 2 + length;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the reified element at the provided {@code index}.
+	 */
+	@Override
+	public Object get(int index) {
+		String id = getId(index);
+		return isNull(id) ? null : model.reifyId(id, eClass);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the position of the first element representing the provided {@code o}, without reifying the stored
+	 * elements.
+	 */
+	@Override
+	public int indexOf(Object o) {
+		String id = accepts(o) && !isNull(o) ? idOf(o) : null;
+		if (isNull(id) && !isNull(o)) {
+			return -1;
+		}
+		for (int i = 0; i < size; i++) {
+			String storedId = getId(i);
+			if (isNull(id) ? isNull(storedId) : id.equals(storedId)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the position of the last element representing the provided {@code o}, without reifying the stored
+	 * elements.
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		String id = accepts(o) && !isNull(o) ? idOf(o) : null;
+		if (isNull(id) && !isNull(o)) {
+			return -1;
+		}
+		for (int i = size - 1; i >= 0; i--) {
+			String storedId = getId(i);
+			if (isNull(id) ? isNull(storedId) : id.equals(storedId)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) != -1;
+	}
+
+	/**
+	 * Returns a copy of this list in the heap, holding the vertices of the stored identifiers.
+	 * <p>
+	 * The vertices are not reified, the copy is used to go on fetching results that cannot be spilled, and they are
+	 * reified with the other fetched results.
+	 *
+	 * @return a modifiable list of the stored vertices, {@code null} for {@code null} results
+	 */
+	public List<Object> toVertexList() {
+		Graph graph = model.getBackend().getGraph();
+		List<Object> vertices = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			String id = getId(i);
+			vertices.add(isNull(id) ? null : graph.getVertex(id));
+		}
+		return vertices;
+	}
+
+	/**
+	 * Deletes the spill files.
+	 * <p>
+	 * The mapped segments are released when they are garbage collected, the files are deleted on exit if they cannot
+	 * be deleted immediately. The list cannot be read once it has been closed.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		data.close();
+		index.close();
+	}
+
+	/**
+	 * Returns whether the spill files of this list have been deleted.
+	 *
+	 * @return {@code true} if this list has been closed, by {@link #close()} or by its {@link Tracker}
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Returns the identifier stored at the provided {@code index}.
+	 */
+	private String getId(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(format("Index: {0}, Size: {1}", index, size));
+		}
+		try {
+			long indexPosition = (long) index * 8;
+			long position = this.index.segment(indexPosition).getLong((int) (indexPosition % SEGMENT_SIZE));
+			MappedByteBuffer segment = data.segment(position);
+			int offset = (int) (position % SEGMENT_SIZE);
+			short length = segment.getShort(offset);
+			if (length == NULL_LENGTH) {
+				return null;
+			}
+			byte[] id = new byte[length];
+			for (int i = 0; i < length; i++) {
+				id[i] = segment.get(offset + 2 + i);
+			}
+			return new String(id, UTF8);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read the spilled pipeline results, see attached exception", e);
+		}
+	}
+
+	private static String idOf(Object result) {
+		if (result instanceof Vertex) {
+			return ((Vertex) result).getId().toString();
+		} else if (result instanceof PersistentEObject) {
+			return ((PersistentEObject) result).id().toString();
+		}
+		throw new IllegalArgumentException(format("Cannot spill {0}, only model elements can be spilled", result));
+	}
+
+	/**
+	 * Tracks the spill files of the {@link SpilledResultList}s created for a model.
+	 * <p>
+	 * The files of a list are held by a weak reference to the list, and are deleted when the list is garbage collected
+	 * without having been closed, e.g. when the {@link GremlinPipelineListWrapper} caching it is discarded.
+	 */
+	public static class Tracker {
+
+		/**
+		 * The references to the tracked lists.
+		 */
+		private Set<FilesReference> references = new HashSet<>();
+
+		/**
+		 * The queue of the references whose list has been collected.
+		 */
+		private ReferenceQueue<SpilledResultList> collected = new ReferenceQueue<>();
+
+		/**
+		 * Tracks the spill files of the provided {@code list}, and deletes the files of the collected lists.
+		 *
+		 * @param list the {@link SpilledResultList} to track
+		 */
+		public void track(SpilledResultList list) {
+			expunge();
+			references.add(new FilesReference(list, collected));
+		}
+
+		/**
+		 * Closes all the tracked lists and deletes their spill files.
+		 */
+		public void closeAll() {
+			for (FilesReference reference : references) {
+				SpilledResultList list = reference.get();
+				if (nonNull(list)) {
+					list.closed = true;
+				}
+				reference.closeFiles();
+			}
+			references.clear();
+			while (nonNull(collected.poll())) {
+				// references collected before the lists have been closed
+			}
+		}
+
+		/**
+		 * Deletes the spill files of the collected lists.
+		 */
+		private void expunge() {
+			Reference<? extends SpilledResultList> reference;
+			while (nonNull(reference = collected.poll())) {
+				((FilesReference) reference).closeFiles();
+				references.remove(reference);
+			}
+		}
+	}
+
+	/**
+	 * A weak reference to a {@link SpilledResultList} holding its spill files.
+	 */
+	private static class FilesReference extends WeakReference<SpilledResultList> {
+
+		private MappedFile data;
+
+		private MappedFile index;
+
+		public FilesReference(SpilledResultList list, ReferenceQueue<SpilledResultList> queue) {
+			super(list, queue);
+			this.data = list.data;
+			this.index = list.index;
+		}
+
+		public void closeFiles() {
+			data.close();
+			index.close();
+		}
+	}
+
+	/**
+	 * A temporary file mapped by segments of {@link SpilledResultList#SEGMENT_SIZE} bytes.
+	 */
+	private static class MappedFile {
+
+		private File file;
+
+		private RandomAccessFile randomAccessFile;
+
+		private List<MappedByteBuffer> segments = new ArrayList<>();
+
+		private boolean closed;
+
+		public MappedFile(String prefix) throws IOException {
+			this.file = File.createTempFile(prefix, ".bin");
+			this.randomAccessFile = new RandomAccessFile(file, "rw");
+		}
+
+		/**
+		 * Returns the segment containing the provided {@code position}, mapping the missing segments if needed.
+		 */
+		public MappedByteBuffer segment(long position) throws IOException {
+			int segmentIndex = (int) (position / SEGMENT_SIZE);
+			while (segments.size() <= segmentIndex) {
+				segments.add(randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE,
+						(long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+			}
+			return segments.get(segmentIndex);
+		}
+
+		/**
+		 * Closes and deletes the file, the file is deleted on exit if it is still mapped.
+		 * <p>
+		 * This method does nothing if the file is already closed.
+		 */
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			segments.clear();
+			try {
+				randomAccessFile.close();
+			} catch (IOException e) {
+				NeoLogger.warn(format("Cannot close {0}", file));
+			}
+			if (!file.delete()) {
+				NeoLogger.info(format("{0} is still mapped, it will be deleted on exit", file));
+				file.deleteOnExit();
+			}
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package org.eclipse.epsilon.emc.neoemf;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EClass;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Vertex;
+
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsPersistenceBackend;
+import fr.inria.atlanmod.neoemf.data.structure.ClassInfo;
+
+/**
+ * Reifies the vertices returned by the pipelines of a {@link NeoEMFModel} into {@link PersistentEObject}s.
+ * <p>
+ * {@link BlueprintsPersistenceBackend#reifyVertex(Vertex)} resolves the metaclass of each vertex from the package
+ * registry before looking up its object cache. This class caches the reified elements by vertex identifier, and
+ * resolves the {@link EClass} of each metaclass vertex once: vertices are reified by chunks (see
+ * {@link #reifyAll(List, EClass)}), and the metaclass of a chunk is not navigated at all if it is known by the caller.
+ * <p>
+ * The cached elements are held by weak or soft references, and repeated queries return the same instances as long as
+ * they are reachable.
+ */
+public class VertexReifier {
+
+	/**
+	 * The reference types of the cached elements.
+	 */
+	public enum CacheType {
+		/**
+		 * The elements are cached as long as they are referenced by the program.
+		 */
+		WEAK,
+		/**
+		 * The elements are cached until the JVM needs memory.
+		 */
+		SOFT
+	}
+
+	/**
+	 * The backend creating the reified elements.
+	 */
+	private BlueprintsPersistenceBackend backend;
+
+	/**
+	 * The reference type of the cached elements.
+	 */
+	private CacheType cacheType;
+
+	/**
+	 * The reified elements, by vertex identifier.
+	 */
+	private Map<Object, Reference<PersistentEObject>> elements = new HashMap<>();
+
+	/**
+	 * The queue of the references whose element has been collected.
+	 */
+	private ReferenceQueue<PersistentEObject> collected = new ReferenceQueue<>();
+
+	/**
+	 * The resolved {@link EClass}es, by metaclass vertex identifier.
+	 */
+	private Map<Object, EClass> metaclasses = new HashMap<>();
+
+	/**
+	 * Constructs a new {@link VertexReifier} reifying vertices with the provided {@code backend}.
+	 *
+	 * @param backend   the {@link BlueprintsPersistenceBackend} creating the reified elements
+	 * @param cacheType the reference type of the cached elements
+	 */
+	public VertexReifier(BlueprintsPersistenceBackend backend, CacheType cacheType) {
+		this.backend = backend;
+		this.cacheType = cacheType;
+	}
+
+	/**
+	 * Reifies the provided pipeline result into a {@link PersistentEObject} if it is a vertex.
+	 *
+	 * @param o the pipeline result to reify
+	 * @return the reified {@link PersistentEObject} if {@code o} is a vertex, {@code o} otherwise
+	 */
+	public Object reify(Object o) {
+		if (!(o instanceof Vertex)) {
+			return o;
+		}
+		expunge();
+		Vertex vertex = (Vertex) o;
+		PersistentEObject element = getCached(vertex.getId());
+		return nonNull(element) ? element : reify(vertex, null);
+	}
+
+	/**
+	 * Reifies the vertex with the provided {@code id} into a {@link PersistentEObject}.
+	 *
+	 * @param id     the identifier of the vertex to reify
+	 * @param eClass the {@link EClass} of the vertex, or {@code null} if it is unknown
+	 * @return the reified {@link PersistentEObject}, or {@code null} if the vertex does not exist
+	 */
+	public PersistentEObject reifyId(Object id, EClass eClass) {
+		expunge();
+		PersistentEObject element = getCached(id);
+		if (nonNull(element)) {
+			return element;
+		}
+		Vertex vertex = backend.getGraph().getVertex(id);
+		return isNull(vertex) ? null : reify(vertex, eClass);
+	}
+
+	/**
+	 * Reifies in place the vertices contained in the provided {@code results}.
+	 * <p>
+	 * Cached elements are returned as is. If the results are known to be instances of the provided {@code eClass}, the
+	 * other vertices are reified without navigating their metaclass. Otherwise the {@link EClass} of each metaclass
+	 * vertex is resolved once.
+	 *
+	 * @param results the pipeline results to reify
+	 * @param eClass  the {@link EClass} of the vertices in {@code results}, or {@code null} if it is unknown
+	 */
+	public void reifyAll(List<Object> results, EClass eClass) {
+		expunge();
+		ListIterator<Object> it = results.listIterator();
+		while (it.hasNext()) {
+			Object o = it.next();
+			if (o instanceof Vertex) {
+				Vertex vertex = (Vertex) o;
+				PersistentEObject element = getCached(vertex.getId());
+				it.set(nonNull(element) ? element : reify(vertex, eClass));
+			}
+		}
+	}
+
+	/**
+	 * Removes the cached element of the vertex with the provided {@code id}.
+	 *
+	 * @param id the identifier of the vertex
+	 */
+	public void invalidate(Object id) {
+		elements.remove(id);
+	}
+
+	/**
+	 * Removes all the cached elements and metaclasses.
+	 */
+	public void clear() {
+		elements.clear();
+		metaclasses.clear();
+		while (nonNull(collected.poll())) {
+			// references collected before the cache has been cleared
+		}
+	}
+
+	private PersistentEObject getCached(Object id) {
+		Reference<PersistentEObject> reference = elements.get(id);
+		return isNull(reference) ? null : reference.get();
+	}
+
+	/**
+	 * Reifies the provided {@code vertex} with the backend and caches the result.
+	 */
+	private PersistentEObject reify(Vertex vertex, EClass eClass) {
+		PersistentEObject element = backend.reifyVertex(vertex, isNull(eClass) ? resolveMetaclass(vertex) : eClass);
+		if (nonNull(element)) {
+			Object id = vertex.getId();
+			elements.put(id, cacheType == CacheType.SOFT ? new SoftEntry(id, element, collected)
+					: new WeakEntry(id, element, collected));
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the {@link EClass} of the provided {@code vertex}, or {@code null} if it does not have a metaclass.
+	 * <p>
+	 * The backend resolves the metaclass of the vertex itself when {@code null} is returned.
+	 */
+	private EClass resolveMetaclass(Vertex vertex) {
+		for (Vertex metaclassVertex : vertex.getVertices(Direction.OUT, BlueprintsPersistenceBackend.KEY_INSTANCE_OF)) {
+			EClass eClass = metaclasses.get(metaclassVertex.getId());
+			if (isNull(eClass)) {
+				String name = metaclassVertex.getProperty(BlueprintsPersistenceBackend.KEY_ECLASS_NAME);
+				String nsURI = metaclassVertex.getProperty(BlueprintsPersistenceBackend.KEY_EPACKAGE_NSURI);
+				eClass = ClassInfo.of(name, nsURI).eClass();
+				metaclasses.put(metaclassVertex.getId(), eClass);
+			}
+			return eClass;
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the entries of the collected elements.
+	 */
+	private void expunge() {
+		Reference<? extends PersistentEObject> reference;
+		while (nonNull(reference = collected.poll())) {
+			Object id = ((Entry) reference).getId();
+			if (elements.get(id) == reference) {
+				elements.remove(id);
+			}
+		}
+	}
+
+	private interface Entry {
+
+		Object getId();
+	}
+
+	private static class WeakEntry extends WeakReference<PersistentEObject> implements Entry {
+
+		private Object id;
+
+		public WeakEntry(Object id, PersistentEObject element, ReferenceQueue<PersistentEObject> queue) {
+			super(element, queue);
+			this.id = id;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+	}
+
+	private static class SoftEntry extends SoftReference<PersistentEObject> implements Entry {
+
+		private Object id;
+
+		public SoftEntry(Object id, PersistentEObject element, ReferenceQueue<PersistentEObject> queue) {
+			super(element, queue);
+			this.id = id;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+	}
+}